@@ -0,0 +1,109 @@
+package com.example.order.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with a baseline result and writes a markdown table.
+ * Args: result, baseline, report, threshold percent, fail on regression.
+ * A missing baseline just produces the table without deltas; copy a result to the baseline path to start comparing.
+ */
+public final class BenchmarkRegressionReport {
+
+    private record Score(String mode, double score, double error, String unit, double bytesPerOp) {
+
+        /* throughput wants bigger numbers, every other JMH mode measures time */
+        double changePercent(Score baseline) {
+            double change = (score - baseline.score) / baseline.score * 100;
+            return "thrpt".equals(mode) ? -change : change;
+        }
+    }
+
+    private BenchmarkRegressionReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        Path reportFile = Path.of(args[2]);
+        double threshold = Double.parseDouble(args[3]);
+        boolean failOnRegression = Boolean.parseBoolean(args[4]);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Score> results = read(objectMapper, resultFile);
+        Map<String, Score> baseline = Files.exists(baselineFile) ? read(objectMapper, baselineFile) : Map.of();
+
+        StringBuilder report = new StringBuilder("# Benchmark report\n\n");
+        report.append(baseline.isEmpty()
+                ? "No baseline at `" + baselineFile + "`.\n\n"
+                : "Baseline `" + baselineFile + "`, regression threshold " + threshold + "%.\n\n");
+        report.append("| Benchmark | Score | Error | Unit | Alloc B/op | Baseline | Change | |\n");
+        report.append("| --- | ---: | ---: | --- | ---: | ---: | ---: | --- |\n");
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score score = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            String baselineCell = "";
+            String changeCell = "";
+            String flag = "";
+            if (before != null && before.score > 0 && before.unit.equals(score.unit)) {
+                double change = score.changePercent(before);
+                baselineCell = format(before.score);
+                changeCell = String.format("%+.1f%%", change);
+                if (change > threshold) {
+                    flag = "REGRESSION";
+                    regressions++;
+                } else if (change < -threshold) {
+                    flag = "improved";
+                }
+            }
+            report.append(String.format("| %s | %s | %s | %s | %s | %s | %s | %s |%n",
+                    entry.getKey(), format(score.score), format(score.error), score.unit, format(score.bytesPerOp), baselineCell, changeCell, flag));
+        }
+        report.append("\n").append(regressions).append(" regression(s).\n");
+
+        Files.writeString(reportFile, report);
+        System.out.print(report);
+        if (failOnRegression && regressions > 0) {
+            throw new IllegalStateException(regressions + " benchmark(s) regressed by more than " + threshold + "%, see " + reportFile);
+        }
+    }
+
+    private static Map<String, Score> read(ObjectMapper objectMapper, Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : objectMapper.readTree(file.toFile())) {
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key(run), new Score(run.path("mode").asText(),
+                    metric.path("score").asDouble(),
+                    metric.path("scoreError").asDouble(Double.NaN),
+                    metric.path("scoreUnit").asText(),
+                    run.path("secondaryMetrics").path("gc.alloc.rate.norm").path("score").asDouble(Double.NaN)));
+        }
+        return scores;
+    }
+
+    /* benchmark name without the package, plus its sorted params */
+    private static String key(JsonNode run) {
+        String benchmark = run.path("benchmark").asText();
+        String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        Map<String, String> params = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        return params.isEmpty() ? name : name + " " + params;
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "" : String.format("%.3f", value);
+    }
+}
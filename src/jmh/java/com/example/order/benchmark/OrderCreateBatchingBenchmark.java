@@ -0,0 +1,56 @@
+package com.example.order.benchmark;
+
+import com.example.order.OrderProcessingServiceApplication;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * create latency with insert batching disabled (jdbcBatchSize 1, what IDENTITY keys forced on us)
+ * and enabled; sample mode reports the p99 next to the mean
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreateBatchingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(OrderProcessingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.root=WARN", "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+        orderService = context.getBean(OrderService.class);
+        request = OrderFixtures.request(itemCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse create() {
+        return orderService.create(OrderMapper.mapToOrder(101L, request));
+    }
+}
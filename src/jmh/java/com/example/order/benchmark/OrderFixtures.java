@@ -0,0 +1,22 @@
+package com.example.order.benchmark;
+
+import com.example.order.dto.request.OrderItemRequestDTO;
+import com.example.order.dto.request.OrderRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static OrderRequest request(int itemCount) {
+        List<OrderItemRequestDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemRequestDTO((long) i + 1, "Product " + i, (i % 5) + 1, new BigDecimal("19.99").add(BigDecimal.valueOf(i))));
+        }
+        return new OrderRequest(items);
+    }
+}
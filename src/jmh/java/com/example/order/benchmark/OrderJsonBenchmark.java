@@ -0,0 +1,48 @@
+package com.example.order.benchmark;
+
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.entity.Order;
+import com.example.order.utils.OrderMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    /* same defaults the web layer gets from Spring Boot */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+    private OrderResponse response;
+
+    @Setup
+    public void setUp() {
+        Order order = OrderMapper.mapToOrder(101L, OrderFixtures.request(itemCount));
+        order.setId(1L);
+        order.setCreatedAt(LocalDateTime.now());
+        response = OrderMapper.mapToResponse(order);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderResponseCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.order.benchmark;
+
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.entity.Order;
+import com.example.order.utils.OrderMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private OrderRequest request;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        request = OrderFixtures.request(itemCount);
+        order = OrderMapper.mapToOrder(101L, request);
+        order.setId(1L);
+        order.setCreatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public Order mapToOrder() {
+        return OrderMapper.mapToOrder(101L, request);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        return OrderMapper.calculateTotalAmount(request.items());
+    }
+
+    @Benchmark
+    public OrderResponse mapToResponse() {
+        return OrderMapper.mapToResponse(order);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.order.benchmark;
+
+import com.example.order.OrderProcessingServiceApplication;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.repository.OrderRepository;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity hydration versus the flat DTO projection for the same page of orders. Run with the GC
+ * profiler (the jmh profile does) and compare gc.alloc.rate.norm, the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReadPathBenchmark {
+
+    @Param({"1", "20"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private TransactionTemplate readOnly;
+    private List<Long> orderIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(OrderProcessingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.root=WARN");
+        orderRepository = context.getBean(OrderRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        OrderService orderService = context.getBean(OrderService.class);
+        for (int i = 0; i < 200; i++) {
+            orderService.create(OrderMapper.mapToOrder(101L, OrderFixtures.request(5)));
+        }
+        orderIds = orderRepository.findPageIds(PageRequest.of(0, pageSize));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OrderResponse> entities() {
+        return readOnly.execute(status -> orderRepository.findWithItemsByIdIn(orderIds).stream()
+                .map(OrderMapper::mapToResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<OrderResponse> projection() {
+        return readOnly.execute(status -> OrderMapper.mapRows(orderRepository.findRowsByIdIn(orderIds)));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.order.benchmark;
+
+import com.example.order.OrderProcessingServiceApplication;
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/* end to end through the service, repositories and Hibernate against the H2 test profile */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private static final int SEEDED_ORDERS = 2_000;
+
+    @Param({"5"})
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(OrderProcessingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.root=WARN");
+        orderService = context.getBean(OrderService.class);
+        request = OrderFixtures.request(itemCount);
+        for (int i = 0; i < SEEDED_ORDERS; i++) {
+            orderService.create(OrderMapper.mapToOrder((long) i % 100, request));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse create() {
+        return orderService.create(OrderMapper.mapToOrder(101L, request));
+    }
+
+    @Benchmark
+    public List<OrderResponse> getAllOrders() {
+        return orderService.getAllOrders(null, 10, 20);
+    }
+
+    @Benchmark
+    public List<OrderResponse> getAllOrdersByStatus() {
+        return orderService.getAllOrders(OrderStatus.PENDING, 10, 20);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.order.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Embedded stand-in for the invalidation bus. Messages are delivered asynchronously on one thread,
+ * in publish order, like a pub/sub channel would; for tests and single-JVM setups.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.cache.shared.type", havingValue = "memory")
+public class InMemoryOrderInvalidationBus implements OrderInvalidationBus, DisposableBean {
+
+    private final List<Consumer<Collection<Long>>> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService delivery = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-invalidation-bus");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void publish(Collection<Long> orderIds) {
+        List<Long> message = List.copyOf(orderIds);
+        delivery.execute(() -> {
+            for (Consumer<Collection<Long>> listener : listeners) {
+                try {
+                    listener.accept(message);
+                } catch (RuntimeException ex) {
+                    log.warn("Order invalidation listener failed", ex);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<Long>> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void destroy() {
+        delivery.shutdownNow();
+    }
+}
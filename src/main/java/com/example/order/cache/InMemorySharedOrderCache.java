@@ -0,0 +1,83 @@
+package com.example.order.cache;
+
+import com.example.order.dto.response.OrderResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+/* embedded stand-in for the shared tier; for tests and single-JVM setups. Bounded in size, orders
+   expire after ttl and tombstones after tombstone-ttl. */
+@Component
+@ConditionalOnProperty(name = "order.cache.shared.type", havingValue = "memory")
+public class InMemorySharedOrderCache implements SharedOrderCache {
+
+    private final Cache<Long, Object> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public InMemorySharedOrderCache(@Value("${order.cache.shared.tombstone-ttl:PT2S}") Duration tombstoneTtl,
+                                    @Value("${order.cache.shared.ttl:PT10M}") Duration ttl,
+                                    @Value("${order.cache.shared.max-size:100000}") long maxSize) {
+        long tombstoneNanos = tombstoneTtl.toNanos();
+        long orderNanos = ttl.toNanos();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Object>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Object entry, long currentTime) {
+                        return entry instanceof Tombstone ? tombstoneNanos : orderNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Object entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Object entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public OrderResponse get(Long orderId) {
+        if (entries.getIfPresent(orderId) instanceof OrderResponse order) {
+            hits.increment();
+            return order;
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    public void put(Long orderId, OrderResponse order) {
+        /* expired tombstones are already gone */
+        entries.asMap().compute(orderId, (id, current) -> current instanceof Tombstone ? current : order);
+    }
+
+    @Override
+    public void evictAll(Collection<Long> orderIds) {
+        orderIds.forEach(id -> entries.put(id, Tombstone.INSTANCE));
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private enum Tombstone {
+        INSTANCE
+    }
+}
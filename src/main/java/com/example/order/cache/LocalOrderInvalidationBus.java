@@ -0,0 +1,21 @@
+package com.example.order.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/* single instance: the local eviction is all there is to do */
+@Component
+@ConditionalOnProperty(name = "order.cache.shared.type", havingValue = "none", matchIfMissing = true)
+public class LocalOrderInvalidationBus implements OrderInvalidationBus {
+
+    @Override
+    public void publish(Collection<Long> orderIds) {
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<Long>> listener) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.order.cache;
+
+import com.example.order.dto.response.OrderResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/* single instance: the near cache is the only tier */
+@Component
+@ConditionalOnProperty(name = "order.cache.shared.type", havingValue = "none", matchIfMissing = true)
+public class NoSharedOrderCache implements SharedOrderCache {
+
+    @Override
+    public OrderResponse get(Long orderId) {
+        return null;
+    }
+
+    @Override
+    public void put(Long orderId, OrderResponse order) {
+    }
+
+    @Override
+    public void evictAll(Collection<Long> orderIds) {
+    }
+}
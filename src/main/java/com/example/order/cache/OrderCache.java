@@ -0,0 +1,112 @@
+package com.example.order.cache;
+
+import com.example.order.dto.response.OrderResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Two-level read-through cache of {@link OrderResponse} by order id. The near tier is this
+ * instance's cache, sized through {@code spring.cache.caffeine.spec}; a miss there goes to the
+ * {@link SharedOrderCache} and only then to the database. Evictions drop the id from the shared
+ * tier and the near tier and broadcast it on the {@link OrderInvalidationBus}, so every other
+ * instance drops its near copy too. Evictions issued inside a transaction are applied after it
+ * commits, so a concurrent reader cannot re-cache the row before the change is visible.
+ */
+@Slf4j
+@Component
+public class OrderCache {
+
+    public static final String NAME = "orders";
+
+    private final Cache near;
+    private final SharedOrderCache shared;
+    private final OrderInvalidationBus invalidationBus;
+
+    public OrderCache(CacheManager cacheManager, SharedOrderCache shared, OrderInvalidationBus invalidationBus) {
+        this.near = Objects.requireNonNull(cacheManager.getCache(NAME), "cache " + NAME);
+        this.shared = shared;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(orderIds -> orderIds.forEach(near::evict));
+    }
+
+    public OrderResponse get(Long orderId, Supplier<OrderResponse> loader) {
+        try {
+            return near.get(orderId, () -> {
+                OrderResponse order = sharedGet(orderId);
+                if (order == null) {
+                    order = loader.get();
+                    sharedPut(orderId, order);
+                }
+                return order;
+            });
+        } catch (Cache.ValueRetrievalException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public void evict(Long orderId) {
+        evictAll(List.of(orderId));
+    }
+
+    public void evictAll(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(orderIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(ids);
+            }
+        });
+    }
+
+    /* shared tier first, so a near miss right after the local evict cannot find the old row there */
+    private void invalidate(List<Long> orderIds) {
+        try {
+            shared.evictAll(orderIds);
+        } catch (RuntimeException ex) {
+            log.warn("Shared order cache eviction failed for {} orders", orderIds.size(), ex);
+        }
+        orderIds.forEach(near::evict);
+        try {
+            invalidationBus.publish(orderIds);
+        } catch (RuntimeException ex) {
+            log.warn("Could not broadcast invalidation of {} orders", orderIds.size(), ex);
+        }
+    }
+
+    /* an unavailable shared tier degrades to a miss, never to a failed read */
+    private OrderResponse sharedGet(Long orderId) {
+        try {
+            return shared.get(orderId);
+        } catch (RuntimeException ex) {
+            log.debug("Shared order cache read failed for {}", orderId, ex);
+            return null;
+        }
+    }
+
+    private void sharedPut(Long orderId, OrderResponse order) {
+        try {
+            shared.put(orderId, order);
+        } catch (RuntimeException ex) {
+            log.debug("Shared order cache write failed for {}", orderId, ex);
+        }
+    }
+}
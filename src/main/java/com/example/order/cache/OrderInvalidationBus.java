@@ -0,0 +1,16 @@
+package com.example.order.cache;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts the ids of changed orders to every instance so each can drop them from its near
+ * cache, e.g. over Redis pub/sub. Delivery may be asynchronous; a message can also reach the
+ * instance that sent it.
+ */
+public interface OrderInvalidationBus {
+
+    void publish(Collection<Long> orderIds);
+
+    void subscribe(Consumer<Collection<Long>> listener);
+}
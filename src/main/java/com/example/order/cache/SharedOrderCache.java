@@ -0,0 +1,25 @@
+package com.example.order.cache;
+
+import com.example.order.dto.response.OrderResponse;
+
+import java.util.Collection;
+
+/**
+ * Second cache tier shared by every instance, e.g. a Redis or Memcached cluster. {@link OrderCache}
+ * consults it on a near-cache miss before going to the database, so one instance's load warms
+ * the whole fleet. {@link OrderCache} treats a failing tier as a miss.
+ * <p>
+ * A reader can load a row just before a change commits and try to store it just after the
+ * eviction. To keep that old row out, {@link #evictAll} leaves a short-lived tombstone and
+ * {@link #put} does not overwrite one (memcached-style leases, or SET NX on a marker in Redis).
+ */
+public interface SharedOrderCache {
+
+    /* null when absent */
+    OrderResponse get(Long orderId);
+
+    /* ignored while the id carries a tombstone from a recent evictAll */
+    void put(Long orderId, OrderResponse order);
+
+    void evictAll(Collection<Long> orderIds);
+}
@@ -0,0 +1,19 @@
+package com.example.order.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * CBOR converter built from Boot's customized mapper builder. The one Spring MVC registers by
+ * default ignores {@code spring.jackson.*}, so CBOR dates would come out as timestamps while JSON
+ * writes them as ISO-8601 strings.
+ */
+@Component
+public class CborMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    public CborMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        super(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.order.config;
+
+import com.example.order.entity.IdGenerators;
+import com.example.order.entity.Order;
+import com.example.order.entity.OrderItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the pooled id generators past ids that already exist, e.g. rows written while the
+ * tables still used AUTO_INCREMENT. Without this the first allocated block could collide. Runs once
+ * all singletons exist but before the web server and schedulers start, so no create can reserve a
+ * block ahead of it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorAlignment implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        align(Order.ID_SEGMENT, "orders");
+        align(OrderItem.ID_SEGMENT, "items");
+    }
+
+    private void align(String segment, String table) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // the pooled optimizer treats the stored value as the upper end of the next block
+        long floor = maxId + IdGenerators.ALLOCATION_SIZE + 1;
+        List<Long> current = jdbcTemplate.queryForList(
+                "select " + IdGenerators.VALUE_COLUMN + " from " + IdGenerators.TABLE
+                        + " where " + IdGenerators.SEGMENT_COLUMN + " = ?", Long.class, segment);
+
+        if (current.isEmpty()) {
+            jdbcTemplate.update("insert into " + IdGenerators.TABLE + " (" + IdGenerators.SEGMENT_COLUMN + ", "
+                    + IdGenerators.VALUE_COLUMN + ") values (?, ?)", segment, floor);
+        } else if (current.get(0) < floor) {
+            jdbcTemplate.update("update " + IdGenerators.TABLE + " set " + IdGenerators.VALUE_COLUMN + " = ? where "
+                    + IdGenerators.SEGMENT_COLUMN + " = ?", floor, segment);
+        } else {
+            return;
+        }
+        log.info("Aligned id generator '{}' past existing max id {}", segment, maxId);
+    }
+}
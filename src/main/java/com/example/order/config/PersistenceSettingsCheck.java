@@ -0,0 +1,108 @@
+package com.example.order.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warns at startup about persistence settings the order hot paths depend on: JDBC batching for
+ * creates, statement caching on MySQL, no SQL echo, and a pool large enough for the request
+ * concurrency. A create holds its connection while reserving the next block of ids on a second
+ * one, so a pool no larger than the number of concurrent requests can run dry with every
+ * connection waiting for another. Nothing is changed; the application starts either way.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PersistenceSettingsCheck implements ApplicationRunner {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final int DEFAULT_TOMCAT_THREADS = 200;
+    private static final int DEFAULT_SCHEDULING_THREADS = 1;
+    private static final List<String> MYSQL_STATEMENT_SETTINGS = List.of("cachePrepStmts", "useServerPrepStmts", "rewriteBatchedStatements");
+
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> problems = problems();
+        problems.forEach(problem -> log.warn("Persistence settings: {}", problem));
+        if (problems.isEmpty()) {
+            log.info("Persistence settings: hot-path settings present, pool of {} covers {} concurrent requests", poolSize(), requestConcurrency());
+        }
+    }
+
+    public List<String> problems() {
+        List<String> problems = new ArrayList<>();
+        if (isTrue("spring.jpa.show-sql") || isTrue("spring.jpa.properties.hibernate.format_sql")) {
+            problems.add("SQL echo is on (spring.jpa.show-sql / hibernate.format_sql); every statement is printed on the request thread");
+        }
+        Integer batchSize = environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class);
+        if (batchSize == null || batchSize < 2) {
+            problems.add("hibernate.jdbc.batch_size is not set; orders and their items are inserted one statement at a time");
+        }
+        for (String setting : List.of("order_inserts", "order_updates")) {
+            if (!isTrue("spring.jpa.properties.hibernate." + setting)) {
+                problems.add("hibernate." + setting + " is not enabled; mixed-entity flushes break up JDBC batches");
+            }
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.query.plan_cache_max_size") == null) {
+            problems.add("hibernate.query.plan_cache_max_size is not set; sized for the default of 2048 query plans");
+        }
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (url.startsWith("jdbc:mysql:")) {
+            for (String setting : MYSQL_STATEMENT_SETTINGS) {
+                if (!url.contains(setting + "=true") && !isTrue("spring.datasource.hikari.data-source-properties." + setting)) {
+                    problems.add("MySQL driver setting " + setting + " is not enabled");
+                }
+            }
+        }
+        if (isTrue("order.scheduling.enabled", true) && schedulingThreads() < 2) {
+            problems.add("spring.task.scheduling.pool.size is 1; a long archival or stats reconcile run holds up the outbox relay and the new-order queue");
+        }
+        int needed = requestConcurrency() + 1 + backgroundConnections();
+        if (poolSize() < needed) {
+            problems.add("connection pool of " + poolSize() + " is smaller than the " + needed + " connections needed by "
+                    + requestConcurrency() + " concurrent requests, one id block reservation and " + backgroundConnections()
+                    + " background jobs; raise spring.datasource.hikari.maximum-pool-size or lower the request concurrency");
+        }
+        return problems;
+    }
+
+    private int poolSize() {
+        return environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+    }
+
+    /* virtual threads are bounded by the request limit filter, platform threads by Tomcat's pool */
+    private int requestConcurrency() {
+        return isTrue("spring.threads.virtual.enabled")
+                ? environment.getProperty("order.web.virtual-threads.max-concurrent-requests", Integer.class, 16)
+                : environment.getProperty("server.tomcat.threads.max", Integer.class, DEFAULT_TOMCAT_THREADS);
+    }
+
+    /* each scheduler thread may hold a connection; the status update job adds its own workers */
+    private int backgroundConnections() {
+        if (!isTrue("order.scheduling.enabled", true)) {
+            return 0;
+        }
+        return schedulingThreads() + environment.getProperty("order.jobs.status-update.workers", Integer.class, 2);
+    }
+
+    private int schedulingThreads() {
+        return environment.getProperty("spring.task.scheduling.pool.size", Integer.class, DEFAULT_SCHEDULING_THREADS);
+    }
+
+    private boolean isTrue(String property) {
+        return isTrue(property, false);
+    }
+
+    private boolean isTrue(String property, boolean defaultValue) {
+        return environment.getProperty(property, Boolean.class, defaultValue);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.order.config;
+
+import com.example.order.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to the read replicas. The application data source defers fetching
+ * a physical connection until the first statement, by which point the transaction has declared
+ * itself read-only or not: read-only ones get a replica connection, everything else, and anything
+ * running outside a transaction, the primary. Replicas share the primary's credentials, driver and
+ * driver properties ({@code spring.datasource.hikari.data-source-properties.*}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSource replicaDataSource(DataSourceProperties properties,
+                                               HikariDataSource primaryDataSource,
+                                               @Value("${order.datasource.replicas.urls}") List<String> urls,
+                                               @Value("${order.datasource.replicas.pool-size:10}") int poolSize,
+                                               @Value("${order.datasource.replicas.connection-timeout:PT1S}") Duration connectionTimeout,
+                                               @Value("${order.datasource.replicas.max-lag:PT5S}") Duration maxLag,
+                                               @Value("${order.datasource.replicas.lag-query:}") String lagQuery,
+                                               @Value("${order.datasource.replicas.health-check-interval:PT5S}") Duration healthCheckInterval) {
+        List<HikariDataSource> replicas = urls.stream().map(url -> {
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+            replica.setPoolName("replica-" + urls.indexOf(url));
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            /* driver settings such as statement caching matter as much for read traffic */
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            /* an unreachable replica must not stop startup; the health check keeps it out of rotation */
+            replica.setInitializationFailTimeout(-1);
+            return replica;
+        }).toList();
+        return new ReplicaDataSource(replicas, primaryDataSource, maxLag, lagQuery, healthCheckInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
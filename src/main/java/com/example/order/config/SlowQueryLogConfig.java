@@ -0,0 +1,44 @@
+package com.example.order.config;
+
+import com.example.order.datasource.SlowQueryLoggingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application data source so slow statements are timed and a sample of them logged.
+ * Only the bean the application actually uses is wrapped; with read replicas that is the routing
+ * proxy, so replica reads are covered too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.sql.slow-query-log.enabled", havingValue = "true")
+public class SlowQueryLogConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryLogPostProcessor(ObjectProvider<MeterRegistry> registry,
+                                                              @Value("${order.sql.slow-query-log.threshold:200ms}") Duration threshold,
+                                                              @Value("${order.sql.slow-query-log.sample-rate:0.1}") double sampleRate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!beanName.equals("dataSource") || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                /* the registry is looked up on the first slow query, not while the data source is being created */
+                return new SlowQueryLoggingDataSource(dataSource, threshold, sampleRate,
+                        elapsed -> Timer.builder("sql.slow.queries")
+                                .description("Statements at or above the slow query threshold")
+                                .register(registry.getObject())
+                                .record(elapsed));
+            }
+        };
+    }
+}
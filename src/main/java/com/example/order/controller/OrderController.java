@@ -1,34 +1,114 @@
 package com.example.order.controller;
 
+import com.example.order.dto.enums.BulkOrderStatus;
 import com.example.order.dto.enums.OrderStatus;
 import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.request.OrderTransitionRequest;
+import com.example.order.dto.response.BulkOrderResponse;
+import com.example.order.dto.response.BulkOrderResult;
+import com.example.order.dto.response.CustomerStatsResponse;
+import com.example.order.dto.response.OrderPageResponse;
 import com.example.order.dto.response.OrderResponse;
+import com.example.order.dto.response.OrderStatsResponse;
+import com.example.order.dto.response.OrderSummaryResponse;
+import com.example.order.dto.response.OrderTransitionResponse;
 import com.example.order.entity.Order;
+import com.example.order.exceptions.BadRequestException;
 import com.example.order.service.OrderService;
 import com.example.order.utils.OrderMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/order")
 public class OrderController {
 
 
+    public static final String NDJSON = "application/x-ndjson";
+
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int maxBulkOrders;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           ObjectMapper objectMapper,
+                           Validator validator,
+                           @Value("${order.bulk.max-orders:10000}") int maxBulkOrders) {
         this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.maxBulkOrders = maxBulkOrders;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public OrderResponse create(@RequestHeader("X-Customer-Id") Long customerId, @Valid @RequestBody OrderRequest orderRequest) {
+    public OrderResponse create(@RequestHeader("X-Customer-Id") Long customerId,
+                                @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                @Valid @RequestBody OrderRequest orderRequest) {
         Order order = OrderMapper.mapToOrder(customerId, orderRequest);
-        return orderService.create(order);
+        return (idempotencyKey != null) ? orderService.create(order, idempotencyKey) : orderService.create(order);
+
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public BulkOrderResponse createBulk(@RequestHeader("X-Customer-Id") Long customerId,
+                                        @RequestBody List<OrderRequest> orderRequests) {
+        checkBulkSize(orderRequests.size());
+        return createAll(customerId, orderRequests);
+    }
+
+    @PostMapping(value = "/bulk", consumes = NDJSON)
+    @ResponseStatus(HttpStatus.OK)
+    public BulkOrderResponse createBulkNdjson(@RequestHeader("X-Customer-Id") Long customerId,
+                                              InputStream body) {
+        List<OrderRequest> orderRequests = new ArrayList<>();
+        try (MappingIterator<OrderRequest> lines = objectMapper.readerFor(OrderRequest.class).readValues(body)) {
+            while (lines.hasNext()) {
+                orderRequests.add(lines.next());
+                checkBulkSize(orderRequests.size());
+            }
+        } catch (IOException | RuntimeJsonMappingException ex) {
+            throw new BadRequestException("Malformed NDJSON at order " + orderRequests.size(), "MALFORMED_NDJSON");
+        }
+        return createAll(customerId, orderRequests);
+    }
+
+    /* served from in-memory counters; never queries the database */
+    @GetMapping("/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public OrderStatsResponse getStats() {
+        return orderService.getStats();
+    }
 
+    @GetMapping("/stats/customer/{customerId}")
+    @ResponseStatus(HttpStatus.OK)
+    public CustomerStatsResponse getCustomerStats(@PathVariable Long customerId) {
+        return orderService.getCustomerStats(customerId);
     }
 
     @GetMapping("/{orderId}")
@@ -48,6 +128,58 @@ public class OrderController {
 
     }
 
+    @GetMapping("/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public OrderPageResponse getOrdersAfter(@RequestParam(required = false) OrderStatus status,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(defaultValue = "10") int size) {
+        return orderService.getOrdersAfter(status, after, size);
+    }
+
+    @GetMapping("/customer")
+    @ResponseStatus(HttpStatus.OK)
+    public List<OrderSummaryResponse> getCustomerOrders(@RequestHeader("X-Customer-Id") Long customerId,
+                                                        @RequestParam(required = false) OrderStatus status,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "10") int size) {
+        return orderService.getCustomerOrders(customerId, status, createdFrom, createdTo, page, size);
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(required = false) OrderStatus status,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new BadRequestException("createdFrom must be before createdTo", "INVALID_DATE_RANGE");
+        }
+        /* let the generator buffer instead of flushing the socket after every order */
+        ObjectWriter writer = objectMapper.writerFor(OrderResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                orderService.exportOrders(status, createdFrom, createdTo, order -> {
+                    try {
+                        writer.writeValue(generator, order);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    /* bulk status change for fulfilment, e.g. marking a shipment's orders SHIPPED */
+    @PostMapping("/status")
+    @ResponseStatus(HttpStatus.OK)
+    public OrderTransitionResponse transitionOrders(@Valid @RequestBody OrderTransitionRequest request) {
+        checkBulkSize(request.orderIds().size());
+        return orderService.transitionOrders(request.orderIds(), request.status());
+    }
+
     @DeleteMapping("/{orderId}")
     @ResponseStatus(HttpStatus.OK)
     public OrderResponse cancelOrder(@PathVariable Long orderId,
@@ -55,4 +187,48 @@ public class OrderController {
         return orderService.cancelOrder(orderId, customerId);
     }
 
+    private void checkBulkSize(int size) {
+        if (size > maxBulkOrders) {
+            throw new BadRequestException("Bulk request exceeds " + maxBulkOrders + " orders", "BULK_TOO_LARGE");
+        }
+    }
+
+    /* invalid entries are reported in place; only the valid ones reach the service */
+    private BulkOrderResponse createAll(Long customerId, List<OrderRequest> orderRequests) {
+        BulkOrderResult[] results = new BulkOrderResult[orderRequests.size()];
+        List<Order> orders = new ArrayList<>(orderRequests.size());
+        List<Integer> positions = new ArrayList<>(orderRequests.size());
+        for (int i = 0; i < orderRequests.size(); i++) {
+            OrderRequest orderRequest = orderRequests.get(i);
+            String error = validate(orderRequest);
+            if (error != null) {
+                results[i] = BulkOrderResult.rejected(i, BulkOrderStatus.INVALID, error);
+            } else {
+                orders.add(OrderMapper.mapToOrder(customerId, orderRequest));
+                positions.add(i);
+            }
+        }
+        if (!orders.isEmpty()) {
+            for (BulkOrderResult result : orderService.createAll(orders)) {
+                int position = positions.get(result.index());
+                results[position] = result.withIndex(position);
+            }
+        }
+        return BulkOrderResponse.of(List.of(results));
+    }
+
+    private String validate(OrderRequest orderRequest) {
+        if (orderRequest == null) {
+            return "order must not be null";
+        }
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(orderRequest);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
 }
@@ -0,0 +1,37 @@
+package com.example.order.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Customers whose orders were written through this instance within the replica staleness window.
+ * Their order listings are read from the primary, so a client always sees its own create or cancel
+ * even while the replicas are still catching up. Lag is only sampled every health check, so a
+ * replica still in rotation can be up to {@code max-lag} plus one check interval behind; the window
+ * covers both. The tracking is per instance, so it relies on clients sticking to one instance for
+ * their follow-up reads. Single orders need no pin: {@code getOrder} always loads from the primary.
+ */
+@Component
+public class RecentWrites {
+
+    private static final int MAX_TRACKED = 100_000;
+
+    private final Cache<Long, Boolean> customers;
+
+    public RecentWrites(@Value("${order.datasource.replicas.max-lag:PT5S}") Duration maxLag,
+                        @Value("${order.datasource.replicas.health-check-interval:PT5S}") Duration healthCheckInterval) {
+        this.customers = Caffeine.newBuilder().expireAfterWrite(maxLag.plus(healthCheckInterval)).maximumSize(MAX_TRACKED).build();
+    }
+
+    public void written(Long customerId) {
+        customers.put(customerId, Boolean.TRUE);
+    }
+
+    public boolean isRecentCustomer(Long customerId) {
+        return customers.getIfPresent(customerId) != null;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.order.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+
+/**
+ * Read-only connections, handed out round-robin over the replicas that passed their last health
+ * check. A replica is taken out of rotation when it refuses a connection, fails
+ * {@link Connection#isValid}, or, if a {@code lagQuery} is configured, reports more than
+ * {@code maxLag} seconds of replication lag; the next passing check puts it back. With no healthy
+ * replica, reads fall back to the primary. Health checks run on their own thread every
+ * {@code healthCheckInterval}, independent of the application's scheduler, so a replica taken
+ * out by a failed connection always gets the chance to come back.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryFallbacks = new LongAdder();
+    private final ScheduledExecutorService healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaDataSource(List<HikariDataSource> replicas, DataSource primary, Duration maxLag, String lagQuery, Duration healthCheckInterval) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.served.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replica.markDown(ex.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the pool's credentials");
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markDown("connection is not valid");
+                    continue;
+                }
+                long lagSeconds = lagSeconds(connection);
+                if (lagSeconds > maxLag.toSeconds()) {
+                    replica.markDown("replication lag of " + lagSeconds + "s");
+                    continue;
+                }
+                replica.markUp();
+            } catch (SQLException | RuntimeException ex) {
+                replica.markDown(ex.getMessage());
+            }
+        }
+    }
+
+    /* 0 without a lag query; a replica that reports no lag at all (replication stopped) counts as too far behind */
+    private long lagSeconds(Connection connection) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return Long.MAX_VALUE;
+            }
+            long lag = rs.getLong(1);
+            return rs.wasNull() ? Long.MAX_VALUE : lag;
+        }
+    }
+
+    public List<ReplicaStatus> status() {
+        return replicas.stream()
+                .map(r -> new ReplicaStatus(r.dataSource.getJdbcUrl(), r.healthy, r.served.sum()))
+                .toList();
+    }
+
+    public long primaryFallbacks() {
+        return primaryFallbacks.sum();
+    }
+
+    /* driver properties of one replica's pool, for tests */
+    Properties driverProperties(int replica) {
+        return replicas.get(replica).dataSource.getDataSourceProperties();
+    }
+
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    public record ReplicaStatus(String url, boolean healthy, long connectionsServed) {
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final LongAdder served = new LongAdder();
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                log.warn("Read replica {} taken out of rotation: {}", dataSource.getJdbcUrl(), reason);
+            }
+            healthy = false;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("Read replica {} back in rotation", dataSource.getJdbcUrl());
+            }
+            healthy = true;
+        }
+    }
+}
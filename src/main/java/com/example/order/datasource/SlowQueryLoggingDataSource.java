@@ -0,0 +1,99 @@
+package com.example.order.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+
+/**
+ * Times every statement executed through the wrapped data source. Statements at or above the
+ * threshold are all reported to {@code slowQueries}, and a sample of them is logged with their
+ * SQL (never the bound parameters), so a burst of slow queries cannot flood the log the way
+ * echoing all SQL did.
+ */
+@Slf4j
+public class SlowQueryLoggingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 1000;
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final Consumer<Duration> slowQueries;
+
+    public SlowQueryLoggingDataSource(DataSource target, Duration threshold, double sampleRate, Consumer<Duration> slowQueries) {
+        super(target);
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.slowQueries = slowQueries;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return (Connection) proxy(Connection.class, obtainTargetDataSource().getConnection(), null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (Connection) proxy(Connection.class, obtainTargetDataSource().getConnection(username, password), null);
+    }
+
+    private Object proxy(Class<?> type, Object target, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                return timed(target, method, args, preparedSql);
+            }
+            Object result = invoke(target, method, args);
+            /* prepareStatement/prepareCall carry the SQL, createStatement gets it at execute time */
+            if (target instanceof Connection && result instanceof Statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return proxy(method.getReturnType(), result, sql);
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private Object timed(Object statement, Method method, Object[] args, String preparedSql) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invoke(statement, method, args);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= thresholdNanos) {
+                slow(elapsed, args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql, method.getName());
+            }
+        }
+    }
+
+    private void slow(long elapsedNanos, String sql, String kind) {
+        slowQueries.accept(Duration.ofNanos(elapsedNanos));
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            String logged = sql == null ? "<batch>" : sql.length() > MAX_LOGGED_SQL_LENGTH ? sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : sql;
+            log.warn("Slow {} took {} ms: {}", kind, elapsedNanos / 1_000_000, logged);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
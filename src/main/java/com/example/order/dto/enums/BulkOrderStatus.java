@@ -0,0 +1,25 @@
+package com.example.order.dto.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum BulkOrderStatus {
+    CREATED("created"),
+    INVALID("invalid"),
+    FAILED("failed");
+
+    private final String value;
+
+    BulkOrderStatus(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -2,6 +2,9 @@ package com.example.order.dto.enums;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING("pending"),
     PROCESSING("processing"),
@@ -20,6 +23,27 @@ public enum OrderStatus {
         return value;
     }
 
+    /* PENDING -> PROCESSING -> SHIPPED -> DELIVERED; only a PENDING order can still be cancelled */
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case PENDING -> target == PROCESSING || target == CANCELLED;
+            case PROCESSING -> target == SHIPPED;
+            case SHIPPED -> target == DELIVERED;
+            case DELIVERED, CANCELLED -> false;
+        };
+    }
+
+    /* every status that may move to target; empty for PENDING */
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+
     @Override
     public String toString() {
         return value;
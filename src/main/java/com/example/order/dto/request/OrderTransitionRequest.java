@@ -0,0 +1,13 @@
+package com.example.order.dto.request;
+
+import com.example.order.dto.enums.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record OrderTransitionRequest(
+        @NotEmpty List<@NotNull Long> orderIds,
+        @NotNull OrderStatus status) {
+
+}
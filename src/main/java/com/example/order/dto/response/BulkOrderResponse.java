@@ -0,0 +1,17 @@
+package com.example.order.dto.response;
+
+import com.example.order.dto.enums.BulkOrderStatus;
+
+import java.util.List;
+
+public record BulkOrderResponse(
+        int created,
+        int rejected,
+        List<BulkOrderResult> results
+) {
+
+    public static BulkOrderResponse of(List<BulkOrderResult> results) {
+        int created = (int) results.stream().filter(r -> r.status() == BulkOrderStatus.CREATED).count();
+        return new BulkOrderResponse(created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.order.dto.response;
+
+import com.example.order.dto.enums.BulkOrderStatus;
+
+public record BulkOrderResult(
+        int index,
+        BulkOrderStatus status,
+        OrderResponse order,
+        String error
+) {
+
+    public static BulkOrderResult created(int index, OrderResponse order) {
+        return new BulkOrderResult(index, BulkOrderStatus.CREATED, order, null);
+    }
+
+    /* the cause stays in the server log; driver messages name tables, columns and constraints */
+    public static final String STORE_FAILED = "Order could not be stored";
+
+    public static BulkOrderResult failed(int index) {
+        return new BulkOrderResult(index, BulkOrderStatus.FAILED, null, STORE_FAILED);
+    }
+
+    public static BulkOrderResult rejected(int index, BulkOrderStatus status, String error) {
+        return new BulkOrderResult(index, status, null, error);
+    }
+
+    public BulkOrderResult withIndex(int newIndex) {
+        return new BulkOrderResult(newIndex, status, order, error);
+    }
+}
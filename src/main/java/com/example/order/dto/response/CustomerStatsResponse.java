@@ -0,0 +1,10 @@
+package com.example.order.dto.response;
+
+import java.math.BigDecimal;
+
+public record CustomerStatsResponse(
+        Long customerId,
+        long orders,
+        BigDecimal totalAmount
+) {
+}
@@ -1,7 +1,10 @@
 package com.example.order.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import java.math.BigDecimal;
 
+@JsonSerialize(using = OrderItemResponseSerializer.class)
 public record OrderItemResponse(Long productId,
                                 String productName,
                                 Integer quantity,
@@ -0,0 +1,55 @@
+package com.example.order.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link OrderItemResponse} with pre-encoded field names; {@link OrderResponseSerializer}
+ * calls {@link #write} directly for the items of an order.
+ */
+public class OrderItemResponseSerializer extends StdSerializer<OrderItemResponse> {
+
+    private static final SerializableString PRODUCT_ID = new SerializedString("productId");
+    private static final SerializableString PRODUCT_NAME = new SerializedString("productName");
+    private static final SerializableString QUANTITY = new SerializedString("quantity");
+    private static final SerializableString PRICE = new SerializedString("price");
+
+    public OrderItemResponseSerializer() {
+        super(OrderItemResponse.class);
+    }
+
+    @Override
+    public void serialize(OrderItemResponse item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(item, gen);
+    }
+
+    static void write(OrderItemResponse item, JsonGenerator gen) throws IOException {
+        if (item == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(item, 4);
+        gen.writeFieldName(PRODUCT_ID);
+        OrderResponseSerializer.writeLong(item.productId(), gen);
+        gen.writeFieldName(PRODUCT_NAME);
+        gen.writeString(item.productName());
+        gen.writeFieldName(QUANTITY);
+        if (item.quantity() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(item.quantity());
+        }
+        gen.writeFieldName(PRICE);
+        if (item.price() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(item.price());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.order.dto.response;
+
+import java.util.List;
+
+public record OrderPageResponse(
+        List<OrderResponse> orders,
+        String nextCursor
+) {}
@@ -1,11 +1,13 @@
 package com.example.order.dto.response;
 
 import com.example.order.dto.enums.OrderStatus;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+@JsonSerialize(using = OrderResponseSerializer.class)
 public record OrderResponse(
         Long orderId,
         Long customerId,
@@ -0,0 +1,108 @@
+package com.example.order.dto.response;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes {@link OrderResponse} straight to the generator with pre-encoded field names and status
+ * values, skipping the per-property reflection and serializer lookups of the default record
+ * serializer. The output is the same as the default mapping: lower-case status, plain decimals and
+ * {@code createdAt} through the mapper's own date serializer, so {@code spring.jackson.*} date
+ * settings still apply. That serializer is looked up once per mapper, when Jackson contextualizes this
+ * one. It works for every Jackson format, so CBOR responses use it too.
+ */
+public class OrderResponseSerializer extends StdSerializer<OrderResponse> implements ContextualSerializer {
+
+    private static final SerializableString ORDER_ID = new SerializedString("orderId");
+    private static final SerializableString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString ITEMS = new SerializedString("items");
+
+    private static final SerializableString[] STATUS_VALUES = new SerializableString[OrderStatus.values().length];
+
+    static {
+        for (OrderStatus status : OrderStatus.values()) {
+            STATUS_VALUES[status.ordinal()] = new SerializedString(status.getValue());
+        }
+    }
+
+    private final JsonSerializer<Object> dateSerializer;
+
+    public OrderResponseSerializer() {
+        this(null);
+    }
+
+    private OrderResponseSerializer(JsonSerializer<Object> dateSerializer) {
+        super(OrderResponse.class);
+        this.dateSerializer = dateSerializer;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        return new OrderResponseSerializer(provider.findValueSerializer(LocalDateTime.class, property));
+    }
+
+    @Override
+    public void serialize(OrderResponse order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(order, 6);
+        gen.writeFieldName(ORDER_ID);
+        writeLong(order.orderId(), gen);
+        gen.writeFieldName(CUSTOMER_ID);
+        writeLong(order.customerId(), gen);
+        gen.writeFieldName(STATUS);
+        if (order.status() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(STATUS_VALUES[order.status().ordinal()]);
+        }
+        gen.writeFieldName(TOTAL_AMOUNT);
+        if (order.totalAmount() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(order.totalAmount());
+        }
+        gen.writeFieldName(CREATED_AT);
+        if (order.createdAt() == null) {
+            gen.writeNull();
+        } else {
+            dateSerializer.serialize(order.createdAt(), gen, provider);
+        }
+        gen.writeFieldName(ITEMS);
+        writeItems(order.items(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeItems(List<OrderItemResponse> items, JsonGenerator gen) throws IOException {
+        if (items == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(items, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            OrderItemResponseSerializer.write(items.get(i), gen);
+        }
+        gen.writeEndArray();
+    }
+
+    static void writeLong(Long value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.order.dto.response;
+
+import com.example.order.dto.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderStatsResponse(
+        List<StatusTotals> byStatus,
+        List<HourTotals> byHour
+) {
+
+    public record StatusTotals(OrderStatus status, long orders, BigDecimal totalAmount) {
+    }
+
+    /* orders created in the hour starting at hour */
+    public record HourTotals(LocalDateTime hour, long orders, BigDecimal totalAmount) {
+    }
+}
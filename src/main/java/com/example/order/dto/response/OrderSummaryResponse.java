@@ -0,0 +1,14 @@
+package com.example.order.dto.response;
+
+import com.example.order.dto.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/* order without its items, for list pages */
+public record OrderSummaryResponse(
+        Long orderId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime createdAt
+) {}
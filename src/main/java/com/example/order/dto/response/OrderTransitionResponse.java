@@ -0,0 +1,14 @@
+package com.example.order.dto.response;
+
+import com.example.order.dto.enums.OrderStatus;
+
+import java.util.List;
+
+/* counts are of distinct ids; rejectedIds are orders that do not exist or were not in a status that can move to status */
+public record OrderTransitionResponse(
+        OrderStatus status,
+        int requested,
+        int transitioned,
+        List<Long> rejectedIds
+) {
+}
@@ -0,0 +1,41 @@
+package com.example.order.entity;
+
+import com.example.order.dto.enums.OrderStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Terminal order moved out of {@code orders} by {@link com.example.order.jobs.OrderArchivalJob}.
+ * Same columns and ids as the live table; rows are only ever inserted by that job and read.
+ * Order stats still count archived orders, per customer through the index.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = @Index(name = "idx_orders_archive_customer", columnList = "customer_id, total_amount"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOrder {
+    @Id
+    private Long id;
+    private Long customerId;
+    private BigDecimal totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime cancelledAt;
+}
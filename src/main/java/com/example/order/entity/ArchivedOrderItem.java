@@ -0,0 +1,29 @@
+package com.example.order.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/* item of an {@link ArchivedOrder}; order_id is a plain column so archive rows carry no constraints */
+@Entity
+@Table(name = "items_archive", indexes = @Index(name = "idx_items_archive_order_id", columnList = "order_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOrderItem {
+    @Id
+    private Long id;
+    private Long orderId;
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal price;
+}
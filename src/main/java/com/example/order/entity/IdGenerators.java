@@ -0,0 +1,16 @@
+package com.example.order.entity;
+
+/**
+ * Shared layout of the table that backs the pooled id generators of the order entities.
+ * Each entity owns one row (segment) and reserves {@link #ALLOCATION_SIZE} ids per round trip.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String SEGMENT_COLUMN = "segment_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
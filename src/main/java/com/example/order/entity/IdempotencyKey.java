@@ -0,0 +1,48 @@
+package com.example.order.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key of a create request, scoped to the customer. The row is inserted in the same
+ * transaction as the order it guards, so the primary key is what makes concurrent retries wait
+ * for and then reuse the first request's result. Written and read with plain JDBC; mapped so the
+ * schema is generated with the rest.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey {
+    /* customerId:key */
+    @Id
+    @Column(length = 150)
+    private String scopedKey;
+
+    /* SHA-256 of the request the key was first used with; a reuse with another request is rejected */
+    @Column(length = 64)
+    private String requestHash;
+
+    private Long orderId;
+
+    @Lob
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
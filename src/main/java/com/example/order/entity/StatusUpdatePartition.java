@@ -0,0 +1,30 @@
+package com.example.order.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order id range [rangeStart, rangeEnd) that one status update worker leases at a time.
+ * A partition can be claimed again once {@code availableAt} has passed, either because the
+ * cool-down after a completed pass ran out or because its owner stopped renewing the lease.
+ */
+@Entity
+@Table(name = "status_update_partitions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusUpdatePartition {
+    @Id
+    private Long rangeStart;
+    private Long rangeEnd;
+    private String owner;
+    private LocalDateTime availableAt;
+}
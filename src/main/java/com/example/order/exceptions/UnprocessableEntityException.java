@@ -0,0 +1,19 @@
+package com.example.order.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class UnprocessableEntityException extends RuntimeException {
+    private final String errorCode;
+
+    public UnprocessableEntityException(String message) {
+        super(message);
+        this.errorCode = "UNPROCESSABLE_ENTITY";
+    }
+
+    public UnprocessableEntityException(String message, String errorCode) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+
+}
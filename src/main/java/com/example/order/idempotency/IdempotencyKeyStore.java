@@ -0,0 +1,183 @@
+package com.example.order.idempotency;
+
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.entity.Order;
+import com.example.order.entity.OrderItem;
+import com.example.order.exceptions.BadRequestException;
+import com.example.order.exceptions.ConflictException;
+import com.example.order.exceptions.UnprocessableEntityException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Makes order creation idempotent per {@code Idempotency-Key}. The key row is inserted before the
+ * order, in the same transaction: a concurrent duplicate blocks on the primary key until the first
+ * request commits, then fails the insert and returns the stored response. If the first request
+ * rolls back, the duplicate's insert goes through and it creates the order itself. Completed
+ * responses are also kept in a local cache so that most retries never reach the database. A key is
+ * bound to a hash of the request it was first used with; reusing it for a different request is
+ * rejected instead of silently answering with the first order.
+ */
+@Slf4j
+@Component
+public class IdempotencyKeyStore {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private static final String INSERT = "insert into idempotency_keys (scoped_key, request_hash, created_at, expires_at) values (?, ?, ?, ?)";
+    private static final String COMPLETE = "update idempotency_keys set order_id = ?, response = ? where scoped_key = ?";
+    private static final String SELECT = "select request_hash, response, expires_at from idempotency_keys where scoped_key = ?";
+    private static final String DELETE_EXPIRED_KEY = "delete from idempotency_keys where scoped_key = ? and expires_at <= ?";
+    private static final String PURGE = "delete from idempotency_keys where expires_at <= ? limit ?";
+
+    private record StoredKey(String requestHash, String response, LocalDateTime expiresAt) {
+    }
+
+    private record CompletedKey(String requestHash, OrderResponse response) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+    private final Cache<String, CompletedKey> recentKeys;
+
+    public IdempotencyKeyStore(JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${order.idempotency.ttl:PT24H}") Duration ttl,
+                               @Value("${order.idempotency.cache-size:10000}") long cacheSize,
+                               @Value("${order.idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+        /* never outlives the row, so an expired key behaves the same on every node */
+        this.recentKeys = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(ttl).build();
+    }
+
+    /**
+     * Returns the response stored for this customer's key, or runs {@code create} in a new
+     * transaction that also records its response under the key. {@code requestHash} identifies the
+     * request, see {@link #requestHash(Order)}.
+     */
+    public OrderResponse resolve(Long customerId, String key, String requestHash, Supplier<OrderResponse> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters", "INVALID_IDEMPOTENCY_KEY");
+        }
+        String scopedKey = customerId + ":" + key;
+        CompletedKey cached = recentKeys.getIfPresent(scopedKey);
+        if (cached != null) {
+            return matching(cached, requestHash);
+        }
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                OrderResponse created = transactionTemplate.execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    jdbcTemplate.update(INSERT, scopedKey, requestHash, Timestamp.valueOf(now), Timestamp.valueOf(now.plus(ttl)));
+                    OrderResponse response = create.get();
+                    jdbcTemplate.update(COMPLETE, response.orderId(), serialize(response), scopedKey);
+                    return response;
+                });
+                recentKeys.put(scopedKey, new CompletedKey(requestHash, created));
+                return created;
+            } catch (DuplicateKeyException ex) {
+                CompletedKey stored = findStored(scopedKey);
+                if (stored != null) {
+                    recentKeys.put(scopedKey, stored);
+                    return matching(stored, requestHash);
+                }
+                /* the existing row has expired but was not purged yet: drop it and claim the key again */
+                jdbcTemplate.update(DELETE_EXPIRED_KEY, scopedKey, Timestamp.valueOf(LocalDateTime.now()));
+            }
+        }
+        throw new ConflictException("Request with this Idempotency-Key is still in progress", "IDEMPOTENCY_KEY_IN_USE");
+    }
+
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE, now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    /**
+     * SHA-256 over the customer and every item as submitted, in order. Ids and timestamps are left
+     * out, so a retry of the same request always hashes the same.
+     */
+    public static String requestHash(Order order) {
+        StringBuilder canonical = new StringBuilder().append(order.getCustomerId());
+        for (OrderItem item : order.getItems()) {
+            canonical.append('|').append(item.getProductId())
+                    .append('|').append(item.getProductName())
+                    .append('|').append(item.getQuantity())
+                    .append('|').append(item.getPrice() == null ? null : item.getPrice().stripTrailingZeros().toPlainString());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /* keys stored before request hashes were recorded have none and match any request */
+    private static OrderResponse matching(CompletedKey completed, String requestHash) {
+        if (completed.requestHash() != null && !completed.requestHash().equals(requestHash)) {
+            throw new UnprocessableEntityException("Idempotency-Key was already used for a different request", "IDEMPOTENCY_KEY_REUSED");
+        }
+        return completed.response();
+    }
+
+    /* the response of a live, completed key; null if the key expired or its response is missing */
+    private CompletedKey findStored(String scopedKey) {
+        List<StoredKey> rows = jdbcTemplate.query(SELECT, (rs, rowNum) ->
+                new StoredKey(rs.getString("request_hash"), rs.getString("response"), rs.getTimestamp("expires_at").toLocalDateTime()), scopedKey);
+        if (rows.isEmpty() || rows.get(0).response() == null || !rows.get(0).expiresAt().isAfter(LocalDateTime.now())) {
+            return null;
+        }
+        try {
+            return new CompletedKey(rows.get(0).requestHash(), objectMapper.readValue(rows.get(0).response(), OrderResponse.class));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot read stored response for idempotency key " + scopedKey, ex);
+        }
+    }
+
+    private String serialize(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize response of order " + response.orderId(), ex);
+        }
+    }
+}
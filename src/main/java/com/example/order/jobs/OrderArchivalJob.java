@@ -0,0 +1,113 @@
+package com.example.order.jobs;
+
+import com.example.order.dto.enums.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves orders that became terminal more than {@code min-age} ago with their items into {@code orders_archive}
+ * and {@code items_archive}, keeping the live tables and their indexes small. Each chunk copies
+ * and deletes its rows in one transaction, so the job can stop anywhere and simply continues with
+ * whatever is still in {@code orders} on the next run. The chunk's rows are locked FOR UPDATE, so
+ * a second node running at the same time waits and then finds them gone. An order became terminal
+ * at its {@code cancelled_at}, or for a delivered order at its last {@code updated_at}; rows
+ * without either fall back to {@code created_at}.
+ */
+@Slf4j
+@Component
+public class OrderArchivalJob {
+
+    /* created_at is never later than the terminal time, so it only narrows the scan on idx_orders_status_created_at_id */
+    private static final String SELECT_CHUNK = """
+            select id from orders
+            where status in (:statuses) and id > :afterId
+              and created_at < :cutoff and coalesce(cancelled_at, updated_at, created_at) < :cutoff
+            order by id
+            limit :limit for update
+            """;
+    private static final String COPY_ORDERS = """
+            insert into orders_archive (id, customer_id, total_amount, status, created_at, updated_at, cancelled_at)
+            select id, customer_id, total_amount, status, created_at, updated_at, cancelled_at from orders where id in (:ids)
+            """;
+    private static final String COPY_ITEMS = """
+            insert into items_archive (id, order_id, product_id, product_name, quantity, price)
+            select id, order_id, product_id, product_name, quantity, price from items where order_id in (:ids)
+            """;
+    private static final String DELETE_ITEMS = "delete from items where order_id in (:ids)";
+    private static final String DELETE_ORDERS = "delete from orders where id in (:ids)";
+
+    private static final List<String> TERMINAL_STATUSES = List.of(OrderStatus.DELIVERED.name(), OrderStatus.CANCELLED.name());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration minAge;
+    private final int chunkSize;
+
+    public OrderArchivalJob(NamedParameterJdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${order.jobs.archival.min-age:P180D}") Duration minAge,
+                            @Value("${order.jobs.archival.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAge = minAge;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${order.jobs.archival.cron:0 30 3 * * *}")
+    public void archiveTerminalOrders() {
+        runOnce();
+    }
+
+    /* archives everything currently eligible; returns the number of orders moved */
+    public long runOnce() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        long jobStart = System.nanoTime();
+        long archived = 0;
+        long afterId = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long from = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> archiveChunk(cutoff, from));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            archived += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} orders terminal since before {} ({} ms)", archived, cutoff, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - jobStart));
+        }
+        return archived;
+    }
+
+    private List<Long> archiveChunk(LocalDateTime cutoff, long afterId) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_CHUNK, new MapSqlParameterSource()
+                .addValue("statuses", TERMINAL_STATUSES)
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("afterId", afterId)
+                .addValue("limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        MapSqlParameterSource chunk = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update(COPY_ORDERS, chunk);
+        jdbcTemplate.update(COPY_ITEMS, chunk);
+        jdbcTemplate.update(DELETE_ITEMS, chunk);
+        jdbcTemplate.update(DELETE_ORDERS, chunk);
+        return ids;
+    }
+}
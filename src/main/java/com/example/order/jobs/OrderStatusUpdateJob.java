@@ -1,43 +1,203 @@
 package com.example.order.jobs;
 
 import com.example.order.dto.enums.OrderStatus;
-import com.example.order.entity.Order;
+import com.example.order.entity.StatusUpdatePartition;
+import com.example.order.metrics.OrderMetrics;
 import com.example.order.repository.OrderRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import com.example.order.transitions.OrderTransitions;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Moves PENDING orders to PROCESSING in bounded chunks. The id space is split into partitions
+ * leased through {@link StatusUpdatePartitionLeases}, so every node can run the job and its
+ * worker threads never work on the same range as another worker. Each chunk is one short
+ * transaction: an index scan for the next {@code chunkSize} pending ids followed by a single
+ * bulk UPDATE over that id range through {@link OrderTransitions}. New orders normally reach
+ * PROCESSING sooner through {@link com.example.order.transitions.NewOrderQueue}; this job is the
+ * sweep for anything the queue missed. Workers run on the application task executor, which uses
+ * virtual threads when {@code spring.threads.virtual.enabled} is set.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OrderStatusUpdateJob {
 
     private final OrderRepository orderRepository;
+    private final StatusUpdatePartitionLeases leases;
+    private final OrderTransitions transitions;
+    private final OrderMetrics orderMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxRowsPerSecond;
+    private final int workers;
+    private final String nodeId;
+    private final AsyncTaskExecutor taskExecutor;
+
+    public OrderStatusUpdateJob(OrderRepository orderRepository,
+                                StatusUpdatePartitionLeases leases,
+                                OrderTransitions transitions,
+                                OrderMetrics orderMetrics,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                @Value("${order.jobs.status-update.chunk-size:500}") int chunkSize,
+                                @Value("${order.jobs.status-update.max-rows-per-second:0}") int maxRowsPerSecond,
+                                @Value("${order.jobs.status-update.workers:2}") int workers,
+                                @Value("${order.jobs.status-update.node-id:}") String nodeId) {
+        this.orderRepository = orderRepository;
+        this.leases = leases;
+        this.transitions = transitions;
+        this.orderMetrics = orderMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.workers = workers;
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID() : nodeId;
+        this.taskExecutor = taskExecutor;
+    }
 
     @Scheduled(fixedRate = 5 * 60000)
-    @Transactional
     public void updatePendingOrdersToProcessing() {
-        log.info("⏰ Order status update job started at {}", LocalDateTime.now());
+        runOnce();
+    }
+
+    public RunSummary runOnce() {
+        log.info("⏰ Order status update job started at {} on {}", LocalDateTime.now(), nodeId);
+        long jobStart = System.nanoTime();
+        leases.ensurePartitions();
 
-        List<Order> pendingOrders = orderRepository.findByStatus(OrderStatus.PENDING);
+        List<Future<RunSummary>> running = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            running.add(taskExecutor.submit(this::drainPartitions));
+        }
+        RunSummary summary = RunSummary.EMPTY;
+        for (Future<RunSummary> worker : running) {
+            summary = summary.plus(await(worker));
+        }
+        orderMetrics.jobRun(System.nanoTime() - jobStart);
 
-        if (pendingOrders.isEmpty()) {
+        if (summary.transitioned() == 0) {
             log.info("No pending orders found for processing.");
-            return;
+        } else {
+            log.info("✅ Updated {} orders from PENDING to PROCESSING in {} partitions ({} ms).",
+                    summary.transitioned(), summary.partitions(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - jobStart));
         }
+        return summary;
+    }
 
-        pendingOrders.forEach(order -> {
-            order.setStatus(OrderStatus.PROCESSING);
-            order.setUpdatedAt(LocalDateTime.now());
-        });
+    private RunSummary drainPartitions() {
+        RunSummary summary = RunSummary.EMPTY;
+        Optional<StatusUpdatePartition> partition;
+        while (!Thread.currentThread().isInterrupted() && (partition = leases.claim(nodeId)).isPresent()) {
+            try {
+                summary = summary.plus(new RunSummary(1, processPartition(partition.get())));
+            } finally {
+                leases.release(partition.get(), nodeId);
+            }
+        }
+        return summary;
+    }
+
+    private long processPartition(StatusUpdatePartition partition) {
+        long afterId = partition.getRangeStart() - 1;
+        long transitioned = 0;
+        int chunks = 0;
+
+        while (true) {
+            long chunkStart = System.nanoTime();
+            long from = afterId;
+            Chunk chunk = transactionTemplate.execute(status -> processChunk(from, partition.getRangeEnd()));
+            if (chunk == null || chunk.scanned() == 0) {
+                break;
+            }
+            chunks++;
+            transitioned += chunk.transitioned();
+            afterId = chunk.lastId();
+
+            long chunkNanos = System.nanoTime() - chunkStart;
+            orderMetrics.jobChunk(chunk.scanned(), chunk.transitioned(), chunkNanos);
+            long chunkMillis = TimeUnit.NANOSECONDS.toMillis(chunkNanos);
+            log.info("Partition {}, chunk {}: moved {} orders (ids {}..{}) in {} ms, {} so far",
+                    partition.getRangeStart(), chunks, chunk.transitioned(), chunk.firstId(), chunk.lastId(), chunkMillis, transitioned);
+
+            if (chunk.scanned() < chunkSize || !throttle(chunk.transitioned(), chunkMillis)) {
+                break;
+            }
+            if (!leases.renew(partition, nodeId)) {
+                log.warn("Lost lease on partition {}, leaving it to its new owner", partition.getRangeStart());
+                break;
+            }
+        }
+        return transitioned;
+    }
 
-        orderRepository.saveAll(pendingOrders);
+    private Chunk processChunk(long afterId, long beforeId) {
+        List<Long> ids = orderRepository.findIdsByStatusBetween(OrderStatus.PENDING, afterId, beforeId, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return new Chunk(0, afterId, afterId, 0);
+        }
+        Long firstId = ids.get(0);
+        Long lastId = ids.get(ids.size() - 1);
+        int updated = transitions.transitionRange(OrderStatus.PENDING, OrderStatus.PROCESSING, firstId, lastId);
+        return new Chunk(ids.size(), firstId, lastId, updated);
+    }
+
+    /* sleeps long enough to keep each worker under maxRowsPerSecond; false if interrupted */
+    private boolean throttle(int rows, long elapsedMillis) {
+        if (maxRowsPerSecond <= 0) {
+            return true;
+        }
+        long budgetMillis = rows * 1000L / maxRowsPerSecond;
+        if (budgetMillis <= elapsedMillis) {
+            return true;
+        }
+        try {
+            Thread.sleep(budgetMillis - elapsedMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Order status update job interrupted, stopping after current chunk");
+            return false;
+        }
+    }
+
+    private RunSummary await(Future<RunSummary> worker) {
+        try {
+            return worker.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            worker.cancel(true);
+            return RunSummary.EMPTY;
+        } catch (ExecutionException ex) {
+            log.error("Order status update worker failed", ex.getCause());
+            return RunSummary.EMPTY;
+        }
+    }
+
+    public record RunSummary(int partitions, long transitioned) {
+        static final RunSummary EMPTY = new RunSummary(0, 0);
+
+        RunSummary plus(RunSummary other) {
+            return new RunSummary(partitions + other.partitions, transitioned + other.transitioned);
+        }
+    }
 
-        log.info("✅ Updated {} orders from PENDING to PROCESSING.", pendingOrders.size());
+    private record Chunk(int scanned, long firstId, long lastId, int transitioned) {
     }
 }
@@ -0,0 +1,103 @@
+package com.example.order.jobs;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.entity.StatusUpdatePartition;
+import com.example.order.repository.OrderRepository;
+import com.example.order.repository.StatusUpdatePartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Hands out order id range partitions to status update workers across all nodes, using rows in
+ * {@code status_update_partitions} as leases. Every call runs in its own short transaction.
+ */
+@Slf4j
+@Component
+public class StatusUpdatePartitionLeases {
+
+    private final StatusUpdatePartitionRepository partitionRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long partitionWidth;
+    private final Duration leaseDuration;
+    private final Duration coolDown;
+
+    public StatusUpdatePartitionLeases(StatusUpdatePartitionRepository partitionRepository,
+                                       OrderRepository orderRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${order.jobs.status-update.partition-width:10000}") long partitionWidth,
+                                       @Value("${order.jobs.status-update.lease-duration:PT5M}") Duration leaseDuration,
+                                       @Value("${order.jobs.status-update.partition-cool-down:PT1M}") Duration coolDown) {
+        this.partitionRepository = partitionRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionWidth = partitionWidth;
+        this.leaseDuration = leaseDuration;
+        this.coolDown = coolDown;
+    }
+
+    /**
+     * Appends partitions until the highest pending order id is covered. Nodes may race here;
+     * a partition that another node inserted first is simply skipped.
+     */
+    public void ensurePartitions() {
+        long maxPendingId = orderRepository.findMaxIdByStatus(OrderStatus.PENDING).orElse(0L);
+        long nextStart = partitionRepository.findMaxRangeEnd().orElse(0L);
+        while (nextStart <= maxPendingId) {
+            long rangeStart = nextStart;
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        partitionRepository.insert(rangeStart, rangeStart + partitionWidth, LocalDateTime.now()));
+            } catch (DataIntegrityViolationException ex) {
+                log.debug("Partition starting at {} was created by another node", nextStart);
+            }
+            nextStart += partitionWidth;
+        }
+    }
+
+    public Optional<StatusUpdatePartition> claim(String owner) {
+        while (true) {
+            Claim claim = transactionTemplate.execute(status -> tryClaim(owner));
+            if (claim == null || claim.partition() == null) {
+                return Optional.empty();
+            }
+            if (claim.acquired()) {
+                return Optional.of(claim.partition());
+            }
+        }
+    }
+
+    /* false once another worker has taken the partition over, e.g. after our lease expired */
+    public boolean renew(StatusUpdatePartition partition, String owner) {
+        LocalDateTime until = LocalDateTime.now().plus(leaseDuration);
+        Integer updated = transactionTemplate.execute(status -> partitionRepository.extend(partition.getRangeStart(), owner, until));
+        return updated != null && updated == 1;
+    }
+
+    public void release(StatusUpdatePartition partition, String owner) {
+        LocalDateTime until = LocalDateTime.now().plus(coolDown);
+        transactionTemplate.executeWithoutResult(status -> partitionRepository.extend(partition.getRangeStart(), owner, until));
+    }
+
+    private Claim tryClaim(String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<StatusUpdatePartition> candidate = partitionRepository.findFirstByAvailableAtLessThanEqualOrderByRangeStartAsc(now);
+        if (candidate.isEmpty()) {
+            return new Claim(null, false);
+        }
+        // conditional update keeps the claim safe on databases without SKIP LOCKED
+        int acquired = partitionRepository.acquire(candidate.get().getRangeStart(), owner, now, now.plus(leaseDuration));
+        return new Claim(candidate.get(), acquired == 1);
+    }
+
+    private record Claim(StatusUpdatePartition partition, boolean acquired) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.order.metrics;
+
+import com.example.order.dto.enums.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business and job meters for the order pipeline. Every meter is registered up front, so the hot
+ * path only increments an existing counter; nothing is looked up or allocated per call.
+ */
+@Component
+public class OrderMetrics {
+
+    private final Map<OrderStatus, Counter> created = new EnumMap<>(OrderStatus.class);
+    private final Map<OrderStatus, Counter> cancelled = new EnumMap<>(OrderStatus.class);
+    private final Map<OrderStatus, Counter> cancelRejected = new EnumMap<>(OrderStatus.class);
+    private final Map<OrderStatus, Counter> transitioned = new EnumMap<>(OrderStatus.class);
+    private final DistributionSummary itemsPerOrder;
+    private final DistributionSummary createGroupSize;
+    private final Timer jobRun;
+    private final Timer jobChunk;
+    private final DistributionSummary jobChunkSize;
+    private final Counter jobTransitioned;
+
+    public OrderMetrics(MeterRegistry registry) {
+        for (OrderStatus status : OrderStatus.values()) {
+            created.put(status, Counter.builder("orders.created")
+                    .description("Orders created, by initial status")
+                    .tag("status", status.name())
+                    .register(registry));
+            cancelled.put(status, Counter.builder("orders.cancellations")
+                    .description("Cancel requests, by the status the order was in")
+                    .tag("status", status.name())
+                    .tag("outcome", "cancelled")
+                    .register(registry));
+            cancelRejected.put(status, Counter.builder("orders.cancellations")
+                    .description("Cancel requests, by the status the order was in")
+                    .tag("status", status.name())
+                    .tag("outcome", "rejected")
+                    .register(registry));
+            transitioned.put(status, Counter.builder("orders.transitions")
+                    .description("Orders moved to a new status by the transition engine")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+        itemsPerOrder = DistributionSummary.builder("orders.items")
+                .description("Items per created order")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000.0)
+                .register(registry);
+        createGroupSize = DistributionSummary.builder("orders.create.group.size")
+                .description("Orders written per group commit transaction")
+                .register(registry);
+        jobRun = Timer.builder("orders.job.status_update.duration")
+                .description("Duration of one status update job run")
+                .register(registry);
+        jobChunk = Timer.builder("orders.job.status_update.chunk.duration")
+                .description("Duration of one status update chunk transaction")
+                .publishPercentileHistogram()
+                .register(registry);
+        jobChunkSize = DistributionSummary.builder("orders.job.status_update.chunk.size")
+                .description("Pending orders scanned per chunk")
+                .register(registry);
+        jobTransitioned = Counter.builder("orders.job.status_update.transitioned")
+                .description("Orders moved from PENDING to PROCESSING by the job")
+                .register(registry);
+    }
+
+    public void orderCreated(OrderStatus status, int items) {
+        created.get(status).increment();
+        itemsPerOrder.record(items);
+    }
+
+    public void createGroup(int orders) {
+        createGroupSize.record(orders);
+    }
+
+    public void orderCancelled() {
+        cancelled.get(OrderStatus.PENDING).increment();
+    }
+
+    public void cancelRejected(OrderStatus currentStatus) {
+        cancelRejected.get(currentStatus).increment();
+    }
+
+    public void transitioned(OrderStatus to, int orders) {
+        transitioned.get(to).increment(orders);
+    }
+
+    public void jobRun(long nanos) {
+        jobRun.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void jobChunk(int scanned, int transitioned, long nanos) {
+        jobChunk.record(nanos, TimeUnit.NANOSECONDS);
+        jobChunkSize.record(scanned);
+        jobTransitioned.increment(transitioned);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.order.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends each message as one NDJSON line and forces the file to disk before the batch counts as
+ * accepted, so a crash can only cause a batch to be written twice, never lost. Only for a single
+ * host: the relay deletes what it has written, so nothing else ever sees these events. It is also
+ * the fallback when {@code order.outbox.sink} is not set, which is logged as a warning at startup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    /* a lock rather than synchronized, which would pin a virtual carrier thread across the fsync */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileOutboxSink(ObjectMapper objectMapper,
+                          @Value("${order.outbox.file.path:outbox/order-events.ndjson}") Path path,
+                          @Value("${order.outbox.sink:}") String configuredSink) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+        if (configuredSink.isBlank()) {
+            log.warn("order.outbox.sink is not set: order events are written to {} on this host only and removed "
+                    + "from the outbox; set order.outbox.sink=file to accept that", path.toAbsolutePath());
+        }
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (OutboxMessage message : messages) {
+                lines.append(objectMapper.writeValueAsString(message)).append('\n');
+            }
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            lock.lock();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } finally {
+                lock.unlock();
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize outbox message", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.order.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/* keeps everything it receives; for tests and local runs */
+@Component
+@ConditionalOnProperty(name = "order.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxMessage> published = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        published.addAll(messages);
+    }
+
+    public List<OutboxMessage> published() {
+        return List.copyOf(published);
+    }
+
+    public void clear() {
+        published.clear();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.order.outbox;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.response.OrderResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/* outbox payload; the full order is included where the writer has it at hand */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderEvent(
+        OrderEventType type,
+        Long orderId,
+        OrderStatus status,
+        LocalDateTime occurredAt,
+        OrderResponse order
+) {}
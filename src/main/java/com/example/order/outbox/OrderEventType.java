@@ -0,0 +1,7 @@
+package com.example.order.outbox;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_CANCELLED,
+    ORDER_STATUS_CHANGED
+}
@@ -0,0 +1,76 @@
+package com.example.order.outbox;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.entity.Order;
+import com.example.order.utils.OrderMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes order lifecycle events to {@code order_outbox}. Every method joins the caller's
+ * transaction, and refuses to run without one, so an event is committed exactly when its state
+ * change is. Inserts go through one JDBC batch per call.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class OrderOutbox {
+
+    private static final String INSERT = "insert into order_outbox (order_id, event_type, payload, created_at) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OrderOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void ordersCreated(Collection<Order> orders) {
+        LocalDateTime now = LocalDateTime.now();
+        write(orders.stream()
+                .map(order -> new OrderEvent(OrderEventType.ORDER_CREATED, order.getId(), order.getStatus(), now, OrderMapper.mapToResponse(order)))
+                .toList());
+    }
+
+    public void orderCancelled(Order order) {
+        write(List.of(new OrderEvent(OrderEventType.ORDER_CANCELLED, order.getId(), order.getStatus(), order.getCancelledAt(), OrderMapper.mapToResponse(order))));
+    }
+
+    public void statusChanged(Collection<Long> orderIds, OrderStatus status, LocalDateTime at) {
+        List<OrderEvent> events = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            events.add(new OrderEvent(OrderEventType.ORDER_STATUS_CHANGED, orderId, status, at, null));
+        }
+        write(events);
+    }
+
+    private void write(List<OrderEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(events.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (OrderEvent event : events) {
+            rows.add(new Object[]{event.orderId(), event.type().name(), serialize(event), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    private String serialize(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize event for order " + event.orderId(), ex);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.order.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/* one outbox row as handed to an {@link OutboxSink}; payload is the serialized {@link OrderEvent} */
+public record OutboxMessage(
+        long id,
+        Long orderId,
+        OrderEventType eventType,
+        @JsonRawValue String payload,
+        LocalDateTime createdAt
+) {}
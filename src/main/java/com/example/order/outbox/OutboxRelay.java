@@ -0,0 +1,85 @@
+package com.example.order.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains {@code order_outbox} to the configured {@link OutboxSink} in id order. Each batch is
+ * locked with FOR UPDATE, published, and deleted in one transaction: a failed publish or a crash
+ * before commit leaves the rows to be sent again (at least once). The lock is deliberately not
+ * SKIP LOCKED, so a second relay waits instead of overtaking and events of one order never go
+ * out of sequence. There is no default sink: startup fails until {@code order.outbox.sink} names one.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String SELECT_BATCH = """
+            select id, order_id, event_type, payload, created_at from order_outbox
+            order by id
+            limit ? for update
+            """;
+    private static final String DELETE = "delete from order_outbox where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${order.outbox.relay.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay.interval:PT1S}")
+    public void relay() {
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    /* relays until the outbox is empty; returns the number of events published */
+    public long drain() {
+        long published = 0;
+        while (true) {
+            Integer sent = transactionTemplate.execute(status -> relayBatch());
+            if (sent == null || sent == 0) {
+                return published;
+            }
+            published += sent;
+            if (sent < batchSize) {
+                return published;
+            }
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> batch = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new OutboxMessage(
+                rs.getLong("id"),
+                rs.getLong("order_id"),
+                OrderEventType.valueOf(rs.getString("event_type")),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at").toLocalDateTime()), batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        sink.publish(batch);
+        jdbcTemplate.batchUpdate(DELETE, batch.stream().map(message -> new Object[]{message.id()}).toList());
+        log.debug("Relayed {} outbox events up to id {}", batch.size(), batch.get(batch.size() - 1).id());
+        return batch.size();
+    }
+}
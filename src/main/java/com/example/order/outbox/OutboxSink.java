@@ -0,0 +1,14 @@
+package com.example.order.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for relayed order events. {@link #publish} gets a batch in outbox id order, which
+ * keeps every order's events in the order they were written; it must either accept the whole
+ * batch or throw, in which case the batch is redelivered later. Delivery is at least once, so
+ * consumers should dedupe on {@link OutboxMessage#id()}.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages);
+}
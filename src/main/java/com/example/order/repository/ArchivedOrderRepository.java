@@ -0,0 +1,22 @@
+package com.example.order.repository;
+
+import com.example.order.entity.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("""
+            select new com.example.order.repository.OrderRow(
+                o.id, o.customerId, o.status, o.totalAmount, o.createdAt,
+                i.productId, i.productName, i.quantity, i.price)
+            from ArchivedOrder o left join ArchivedOrderItem i on i.orderId = o.id
+            where o.id = :id
+            order by i.id
+            """)
+    List<OrderRow> findRowsById(Long id);
+}
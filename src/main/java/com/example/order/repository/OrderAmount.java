@@ -0,0 +1,9 @@
+package com.example.order.repository;
+
+import java.math.BigDecimal;
+
+/* an order id with its total, enough to move the order between the per-status stats */
+public record OrderAmount(
+        Long orderId,
+        BigDecimal totalAmount
+) {}
@@ -1,16 +1,158 @@
 package com.example.order.repository;
 
 import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.response.OrderSummaryResponse;
 import com.example.order.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
     List<Order> findByStatus(OrderStatus status);
+
+    @Query("select o.id from Order o order by o.id")
+    List<Long> findPageIds(Pageable pageable);
+
+    @Query("select o.id from Order o where o.status = :status order by o.id")
+    List<Long> findPageIdsByStatus(OrderStatus status, Pageable pageable);
+
+    @Query("select o.id from Order o order by o.createdAt, o.id")
+    List<Long> findKeysetIds(Limit limit);
+
+    @Query("select o.id from Order o where o.status = :status order by o.createdAt, o.id")
+    List<Long> findKeysetIdsByStatus(OrderStatus status, Limit limit);
+
+    @Query("""
+            select o.id from Order o
+            where o.createdAt > :createdAt or (o.createdAt = :createdAt and o.id > :id)
+            order by o.createdAt, o.id
+            """)
+    List<Long> findKeysetIdsAfter(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("""
+            select o.id from Order o
+            where o.status = :status
+              and (o.createdAt > :createdAt or (o.createdAt = :createdAt and o.id > :id))
+            order by o.createdAt, o.id
+            """)
+    List<Long> findKeysetIdsByStatusAfter(OrderStatus status, LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("select o.id from Order o where o.status = :status and o.id > :afterId and o.id < :beforeId order by o.id")
+    List<Long> findIdsByStatusBetween(OrderStatus status, Long afterId, Long beforeId, Limit limit);
+
+    @Query("select max(o.id) from Order o where o.status = :status")
+    Optional<Long> findMaxIdByStatus(OrderStatus status);
+
+    @Modifying
+    @Query("""
+            update Order o set o.status = :to, o.updatedAt = :now
+            where o.status = :from and o.id between :firstId and :lastId
+            """)
+    int updateStatusInRange(OrderStatus from, OrderStatus to, Long firstId, Long lastId, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update Order o set o.status = :to, o.updatedAt = :now
+            where o.id in :ids and o.status in :from
+            """)
+    int updateStatusByIds(Collection<Long> ids, Collection<OrderStatus> from, OrderStatus to, LocalDateTime now);
+
+    /* single-statement cancel: only succeeds while the order is still PENDING and owned by the caller */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o set o.status = :cancelled, o.cancelledAt = :now, o.updatedAt = :now
+            where o.id = :id and o.customerId = :customerId and o.status = :pending
+            """)
+    int cancelIfPending(Long id, Long customerId, OrderStatus pending, OrderStatus cancelled, LocalDateTime now);
+
+    /* rows a bulk status update tagged with its own updatedAt, i.e. exactly the rows it changed */
+    @Query("""
+            select new com.example.order.repository.OrderAmount(o.id, o.totalAmount) from Order o
+            where o.status = :status and o.id between :firstId and :lastId and o.updatedAt = :updatedAt
+            """)
+    List<OrderAmount> findAmountsUpdatedAt(OrderStatus status, Long firstId, Long lastId, LocalDateTime updatedAt);
+
+    @Query("""
+            select new com.example.order.repository.OrderAmount(o.id, o.totalAmount) from Order o
+            where o.id in :ids and o.status = :status and o.updatedAt = :updatedAt
+            """)
+    List<OrderAmount> findAmountsInUpdatedAt(Collection<Long> ids, OrderStatus status, LocalDateTime updatedAt);
+
+    /*
+     * both are read in index order from the index alone, without touching table rows:
+     * idx_orders_customer_created_at without a status, idx_orders_customer_status_created_at with one
+     */
+    @Query("""
+            select new com.example.order.dto.response.OrderSummaryResponse(o.id, o.status, o.totalAmount, o.createdAt)
+            from Order o
+            where o.customerId = :customerId and o.createdAt >= :createdFrom and o.createdAt < :createdTo
+            order by o.createdAt desc, o.id desc
+            """)
+    List<OrderSummaryResponse> findSummariesByCustomer(Long customerId, LocalDateTime createdFrom, LocalDateTime createdTo, Pageable pageable);
+
+    @Query("""
+            select new com.example.order.dto.response.OrderSummaryResponse(o.id, o.status, o.totalAmount, o.createdAt)
+            from Order o
+            where o.customerId = :customerId and o.status = :status
+              and o.createdAt >= :createdFrom and o.createdAt < :createdTo
+            order by o.createdAt desc, o.id desc
+            """)
+    List<OrderSummaryResponse> findSummariesByCustomerAndStatus(Long customerId, OrderStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, Pageable pageable);
+
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(Long id);
+
+    /* read path: one flat result set per lookup, mapped straight to responses without entities */
+    @Query("""
+            select new com.example.order.repository.OrderRow(
+                o.id, o.customerId, o.status, o.totalAmount, o.createdAt,
+                i.productId, i.productName, i.quantity, i.price)
+            from Order o left join o.items i
+            where o.id = :id
+            order by i.id
+            """)
+    List<OrderRow> findRowsById(Long id);
+
+    @Query("""
+            select new com.example.order.repository.OrderRow(
+                o.id, o.customerId, o.status, o.totalAmount, o.createdAt,
+                i.productId, i.productName, i.quantity, i.price)
+            from Order o left join o.items i
+            where o.id in :ids
+            order by o.id, i.id
+            """)
+    List<OrderRow> findRowsByIdIn(Collection<Long> ids);
+
+    /* flat rows instead of entities so an export never grows the persistence context; must be consumed inside a transaction */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.example.order.repository.OrderRow(
+                o.id, o.customerId, o.status, o.totalAmount, o.createdAt,
+                i.productId, i.productName, i.quantity, i.price)
+            from Order o left join o.items i
+            where (:status is null or o.status = :status)
+              and (:createdFrom is null or o.createdAt >= :createdFrom)
+              and (:createdTo is null or o.createdAt < :createdTo)
+            order by o.id, i.id
+            """)
+    Stream<OrderRow> streamRows(OrderStatus status, LocalDateTime createdFrom, LocalDateTime createdTo);
+
+    @EntityGraph(attributePaths = "items")
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,19 @@
+package com.example.order.repository;
+
+import com.example.order.dto.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/* one order/item pair from a flat join; consecutive rows with the same orderId belong to one order */
+public record OrderRow(
+        Long orderId,
+        Long customerId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime createdAt,
+        Long productId,
+        String productName,
+        Integer quantity,
+        BigDecimal price
+) {}
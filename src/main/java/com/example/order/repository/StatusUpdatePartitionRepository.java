@@ -0,0 +1,46 @@
+package com.example.order.repository;
+
+import com.example.order.entity.StatusUpdatePartition;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface StatusUpdatePartitionRepository extends JpaRepository<StatusUpdatePartition, Long> {
+
+    /* lock timeout -2 is Hibernate's SKIP_LOCKED: FOR UPDATE SKIP LOCKED on MySQL 8, so concurrent claimers move on */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    Optional<StatusUpdatePartition> findFirstByAvailableAtLessThanEqualOrderByRangeStartAsc(LocalDateTime now);
+
+    @Query("select max(p.rangeEnd) from StatusUpdatePartition p")
+    Optional<Long> findMaxRangeEnd();
+
+    /* plain insert rather than save(): a partition another node created must not be merged over */
+    @Modifying
+    @Query(value = "insert into status_update_partitions (range_start, range_end, available_at) values (:rangeStart, :rangeEnd, :availableAt)",
+            nativeQuery = true)
+    void insert(Long rangeStart, Long rangeEnd, LocalDateTime availableAt);
+
+    @Modifying
+    @Query("""
+            update StatusUpdatePartition p set p.owner = :owner, p.availableAt = :until
+            where p.rangeStart = :rangeStart and p.availableAt <= :now
+            """)
+    int acquire(Long rangeStart, String owner, LocalDateTime now, LocalDateTime until);
+
+    @Modifying
+    @Query("""
+            update StatusUpdatePartition p set p.availableAt = :until
+            where p.rangeStart = :rangeStart and p.owner = :owner
+            """)
+    int extend(Long rangeStart, String owner, LocalDateTime until);
+}
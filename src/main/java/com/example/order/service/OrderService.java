@@ -1,15 +1,31 @@
 package com.example.order.service;
 
 import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.response.BulkOrderResult;
+import com.example.order.dto.response.CustomerStatsResponse;
+import com.example.order.dto.response.OrderPageResponse;
 import com.example.order.dto.response.OrderResponse;
+import com.example.order.dto.response.OrderStatsResponse;
+import com.example.order.dto.response.OrderSummaryResponse;
+import com.example.order.dto.response.OrderTransitionResponse;
 import com.example.order.entity.Order;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
     OrderResponse create(Order order);
+    OrderResponse create(Order order, String idempotencyKey);
+    List<BulkOrderResult> createAll(List<Order> orders);
     OrderResponse getOrder(Long orderId);
     List<OrderResponse> getAllOrders(OrderStatus status,int page, int size);
+    OrderPageResponse getOrdersAfter(OrderStatus status, String after, int size);
+    List<OrderSummaryResponse> getCustomerOrders(Long customerId, OrderStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, int page, int size);
     OrderResponse cancelOrder(Long orderId, Long customerId);
+    OrderTransitionResponse transitionOrders(List<Long> orderIds, OrderStatus status);
+    OrderStatsResponse getStats();
+    CustomerStatsResponse getCustomerStats(Long customerId);
+    long exportOrders(OrderStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, Consumer<OrderResponse> sink);
 }
@@ -0,0 +1,181 @@
+package com.example.order.service.serviceImpl;
+
+import com.example.order.entity.Order;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Group commit for single order creates. Callers queue their order; the first caller that finds no
+ * write in progress becomes the leader, waits up to the current window for more orders (or until
+ * the group is full), and writes the whole group in one transaction. Every caller gets its own
+ * saved order or exception back.
+ * <p>
+ * The window follows the load: it is derived from a moving average of recent group sizes, so a
+ * lone caller is written immediately and only concurrent traffic pays up to {@code maxWait} of
+ * extra latency. If the group transaction fails, its orders are retried one by one so a single bad
+ * order does not fail its neighbours. An {@link Error} is not retried: it fails every order of the
+ * group that has no result yet.
+ */
+@Slf4j
+class OrderCreateBatcher {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Function<List<Order>, List<Order>> writeAll;
+    private final UnaryOperator<Order> writeOne;
+    private final IntConsumer groupSizes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition groupFull = lock.newCondition();
+    private final Condition groupWritten = lock.newCondition();
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private boolean writing;
+    private double averageGroupSize = 1.0;
+
+    OrderCreateBatcher(int maxBatchSize, Duration maxWait,
+                       Function<List<Order>, List<Order>> writeAll,
+                       UnaryOperator<Order> writeOne,
+                       IntConsumer groupSizes) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.writeAll = writeAll;
+        this.writeOne = writeOne;
+        this.groupSizes = groupSizes;
+    }
+
+    Order create(Order order) {
+        Pending pending = new Pending(order);
+        lock.lock();
+        try {
+            queue.add(pending);
+            if (queue.size() >= maxBatchSize) {
+                groupFull.signal();
+            }
+            while (!pending.done) {
+                if (writing) {
+                    groupWritten.awaitUninterruptibly();
+                    continue;
+                }
+                writing = true;
+                List<Pending> group = collectGroup();
+                lock.unlock();
+                try {
+                    write(group);
+                } finally {
+                    lock.lock();
+                    for (Pending written : group) {
+                        written.done = true;
+                    }
+                    writing = false;
+                    groupWritten.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (pending.failure instanceof RuntimeException ex) {
+            throw ex;
+        }
+        if (pending.failure instanceof Error error) {
+            throw error;
+        }
+        return pending.saved;
+    }
+
+    /* called with the lock held; the wait releases it so followers can join the group */
+    private List<Pending> collectGroup() {
+        long remaining = currentWindowNanos();
+        while (queue.size() < maxBatchSize && remaining > 0) {
+            try {
+                remaining = groupFull.awaitNanos(remaining);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        int size = Math.min(queue.size(), maxBatchSize);
+        List<Pending> group = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            group.add(queue.poll());
+        }
+        averageGroupSize += SMOOTHING * (size - averageGroupSize);
+        return group;
+    }
+
+    /* no wait while groups stay at one order, the full window once they approach maxBatchSize */
+    private long currentWindowNanos() {
+        if (maxBatchSize == 1) {
+            return 0;
+        }
+        double load = Math.min(1.0, (averageGroupSize - 1.0) / (maxBatchSize - 1));
+        return (long) (maxWaitNanos * load);
+    }
+
+    private void write(List<Pending> group) {
+        try {
+            writeGroup(group);
+        } catch (Throwable ex) {
+            /* otherwise the followers would wake up without a result or a failure */
+            for (Pending pending : group) {
+                if (pending.saved == null && pending.failure == null) {
+                    pending.failure = ex;
+                }
+            }
+            throw ex;
+        }
+    }
+
+    private void writeGroup(List<Pending> group) {
+        groupSizes.accept(group.size());
+        List<Order> orders = new ArrayList<>(group.size());
+        for (Pending pending : group) {
+            orders.add(pending.order);
+        }
+        try {
+            List<Order> saved = writeAll.apply(orders);
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).saved = saved.get(i);
+            }
+            return;
+        } catch (RuntimeException ex) {
+            if (group.size() == 1) {
+                group.get(0).failure = ex;
+                return;
+            }
+            log.warn("Group commit of {} orders failed, retrying them individually: {}", group.size(), ex.getMessage());
+        }
+        for (Pending pending : group) {
+            try {
+                pending.saved = writeOne.apply(pending.order);
+            } catch (RuntimeException ex) {
+                pending.failure = ex;
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final Order order;
+        private Order saved;
+        /* unchecked only: a RuntimeException or an Error */
+        private Throwable failure;
+        private boolean done;
+
+        private Pending(Order order) {
+            this.order = order;
+        }
+    }
+}
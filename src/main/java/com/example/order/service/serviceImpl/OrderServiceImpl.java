@@ -1,74 +1,348 @@
 package com.example.order.service.serviceImpl;
 
+import com.example.order.cache.OrderCache;
+import com.example.order.datasource.RecentWrites;
 import com.example.order.dto.enums.OrderStatus;
-import com.example.order.dto.response.OrderItemResponse;
+import com.example.order.dto.response.BulkOrderResult;
+import com.example.order.dto.response.CustomerStatsResponse;
+import com.example.order.dto.response.OrderPageResponse;
 import com.example.order.dto.response.OrderResponse;
+import com.example.order.dto.response.OrderStatsResponse;
+import com.example.order.dto.response.OrderSummaryResponse;
+import com.example.order.dto.response.OrderTransitionResponse;
 import com.example.order.entity.Order;
 import com.example.order.exceptions.BadRequestException;
 import com.example.order.exceptions.NotFoundException;
+import com.example.order.idempotency.IdempotencyKeyStore;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.outbox.OrderOutbox;
+import com.example.order.repository.ArchivedOrderRepository;
+import com.example.order.repository.OrderAmount;
 import com.example.order.repository.OrderRepository;
+import com.example.order.repository.OrderRow;
 import com.example.order.service.OrderService;
+import com.example.order.stats.OrderStats;
+import com.example.order.transitions.NewOrderQueue;
+import com.example.order.transitions.OrderTransitions;
+import com.example.order.utils.OrderCursor;
 import com.example.order.utils.OrderMapper;
-import org.springframework.data.domain.Page;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    /* open ends of a created-at filter, within what a MySQL DATETIME can hold, so the range stays sargable */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderCache orderCache;
+    private final OrderMetrics orderMetrics;
+    private final OrderOutbox orderOutbox;
+    private final IdempotencyKeyStore idempotencyKeys;
+    private final OrderTransitions transitions;
+    private final NewOrderQueue newOrders;
+    private final OrderStats orderStats;
+    private final RecentWrites recentWrites;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final int bulkBatchSize;
+    private final OrderCreateBatcher createBatcher;
 
-    public OrderServiceImpl(OrderRepository orderRepository) {
+    public OrderServiceImpl(OrderRepository orderRepository,
+                            ArchivedOrderRepository archivedOrderRepository,
+                            OrderCache orderCache,
+                            OrderMetrics orderMetrics,
+                            OrderOutbox orderOutbox,
+                            IdempotencyKeyStore idempotencyKeys,
+                            OrderTransitions transitions,
+                            NewOrderQueue newOrders,
+                            OrderStats orderStats,
+                            RecentWrites recentWrites,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${order.bulk.batch-size:100}") int bulkBatchSize,
+                            @Value("${order.create.group-commit.enabled:false}") boolean groupCommit,
+                            @Value("${order.create.group-commit.max-batch-size:64}") int groupCommitMaxBatchSize,
+                            @Value("${order.create.group-commit.max-wait:2ms}") Duration groupCommitMaxWait) {
         this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.orderCache = orderCache;
+        this.orderMetrics = orderMetrics;
+        this.orderOutbox = orderOutbox;
+        this.idempotencyKeys = idempotencyKeys;
+        this.transitions = transitions;
+        this.newOrders = newOrders;
+        this.orderStats = orderStats;
+        this.recentWrites = recentWrites;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.bulkBatchSize = bulkBatchSize;
+        this.createBatcher = groupCommit
+                ? new OrderCreateBatcher(groupCommitMaxBatchSize, groupCommitMaxWait, this::persistGroup, this::persistAlone, orderMetrics::createGroup)
+                : null;
     }
 
+    /* with group commit on, concurrent creates share one transaction; inside a caller's transaction they join it instead */
     @Override
     public OrderResponse create(Order order) {
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = createBatcher != null && !TransactionSynchronizationManager.isActualTransactionActive()
+                ? createBatcher.create(order)
+                : transactionTemplate.execute(status -> persist(order));
+        onCreated(savedOrder);
         return OrderMapper.mapToResponse(savedOrder);
     }
 
+    private Order persist(Order order) {
+        Order savedOrder = orderRepository.save(order);
+        orderOutbox.ordersCreated(List.of(savedOrder));
+        return savedOrder;
+    }
+
+    private List<Order> persistGroup(List<Order> orders) {
+        return transactionTemplate.execute(status -> {
+            List<Order> saved = orderRepository.saveAll(orders);
+            orderOutbox.ordersCreated(saved);
+            return saved;
+        });
+    }
+
+    private Order persistAlone(Order order) {
+        resetIds(order);
+        return transactionTemplate.execute(status -> persist(order));
+    }
+
+    /* a retry with a known key returns the first response without touching the orders tables */
+    @Override
+    public OrderResponse create(Order order, String idempotencyKey) {
+        return idempotencyKeys.resolve(order.getCustomerId(), idempotencyKey, IdempotencyKeyStore.requestHash(order), () -> create(order));
+    }
+
+    @Override
+    public List<BulkOrderResult> createAll(List<Order> orders) {
+        List<BulkOrderResult> results = new ArrayList<>(orders.size());
+        for (int from = 0; from < orders.size(); from += bulkBatchSize) {
+            List<Order> batch = orders.subList(from, Math.min(from + bulkBatchSize, orders.size()));
+            results.addAll(createBatch(batch, from));
+        }
+        return results;
+    }
+
+    /* one transaction per batch; if it fails, retry its orders one by one so only the bad ones are rejected */
+    private List<BulkOrderResult> createBatch(List<Order> batch, int offset) {
+        List<BulkOrderResult> results = new ArrayList<>(batch.size());
+        try {
+            List<Order> saved = persistGroup(batch);
+            for (int i = 0; i < saved.size(); i++) {
+                onCreated(saved.get(i));
+                results.add(BulkOrderResult.created(offset + i, OrderMapper.mapToResponse(saved.get(i))));
+            }
+            return results;
+        } catch (DataAccessException ex) {
+            log.warn("Bulk batch at offset {} failed, retrying its {} orders individually: {}", offset, batch.size(), ex.getMessage());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Order order = batch.get(i);
+            resetIds(order);
+            try {
+                Order saved = transactionTemplate.execute(status -> persist(order));
+                onCreated(saved);
+                results.add(BulkOrderResult.created(offset + i, OrderMapper.mapToResponse(saved)));
+            } catch (DataAccessException ex) {
+                log.warn("Bulk order at index {} could not be stored: {}", offset + i, ex.getMostSpecificCause().getMessage());
+                results.add(BulkOrderResult.failed(offset + i));
+            }
+        }
+        return results;
+    }
+
+    private void onCreated(Order order) {
+        orderMetrics.orderCreated(order.getStatus(), order.getItems().size());
+        newOrders.submit(List.of(order.getId()));
+        orderStats.orderCreated(order);
+        recentWrites.written(order.getCustomerId());
+    }
+
+    /* ids handed out during a rolled back flush would otherwise turn the retry into a merge */
+    private static void resetIds(Order order) {
+        order.setId(null);
+        order.getItems().forEach(item -> item.setId(null));
+    }
+
+    /* read-only transactions go to a replica when replicas are configured; customers this instance just wrote to are read from the primary */
+    private TransactionTemplate readTemplate(boolean recentlyWritten) {
+        return recentlyWritten ? transactionTemplate : readOnlyTemplate;
+    }
+
+    /* cache fills always read the primary: a row loaded from a lagging replica would outlive the
+       eviction that triggered the reload, on this node and through the shared tier on all of them */
     @Override
     public OrderResponse getOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId).orElseThrow(() -> new NotFoundException("Order not found with ID: " + orderId));
-        return OrderMapper.mapToResponse(order);
+        return orderCache.get(orderId, () -> loadOrder(orderId));
+    }
+
+    private OrderResponse loadOrder(Long orderId) {
+        List<OrderResponse> orders = OrderMapper.mapRows(orderRepository.findRowsById(orderId));
+        if (orders.isEmpty()) {
+            /* terminal orders past the archival age only exist in the archive */
+            orders = OrderMapper.mapRows(archivedOrderRepository.findRowsById(orderId));
+        }
+        if (orders.isEmpty()) {
+            throw new NotFoundException("Order not found with ID: " + orderId);
+        }
+        return orders.get(0);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders(OrderStatus status, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Order> orderPage;
-        orderPage = (status != null) ? orderRepository.findByStatus(status, pageable) : orderRepository.findAll(pageable);
-        return orderPage.stream().map(this::mapToResponse).toList();
+        List<Long> orderIds = (status != null) ? orderRepository.findPageIdsByStatus(status, pageable) : orderRepository.findPageIds(pageable);
+        return findResponses(orderIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersAfter(OrderStatus status, String after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE, "INVALID_PAGE_SIZE");
+        }
+        /* one extra row tells us whether there is a next page without counting */
+        Limit limit = Limit.of(size + 1);
+        List<Long> orderIds;
+        if (after == null) {
+            orderIds = (status != null) ? orderRepository.findKeysetIdsByStatus(status, limit) : orderRepository.findKeysetIds(limit);
+        } else {
+            OrderCursor cursor = OrderCursor.decode(after);
+            orderIds = (status != null)
+                    ? orderRepository.findKeysetIdsByStatusAfter(status, cursor.createdAt(), cursor.id(), limit)
+                    : orderRepository.findKeysetIdsAfter(cursor.createdAt(), cursor.id(), limit);
+        }
+
+        boolean hasNext = orderIds.size() > size;
+        List<OrderResponse> orders = findResponses(hasNext ? orderIds.subList(0, size) : orderIds);
+        String nextCursor = (hasNext && !orders.isEmpty()) ? OrderCursor.of(orders.get(orders.size() - 1)).encode() : null;
+        return new OrderPageResponse(orders, nextCursor);
+    }
+
+    @Override
+    public List<OrderSummaryResponse> getCustomerOrders(Long customerId, OrderStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, int page, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE, "INVALID_PAGE_SIZE");
+        }
+        LocalDateTime from = createdFrom != null ? createdFrom : EARLIEST;
+        LocalDateTime to = createdTo != null ? createdTo : LATEST;
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("createdFrom must be before createdTo", "INVALID_DATE_RANGE");
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        return readTemplate(recentWrites.isRecentCustomer(customerId)).execute(tx -> (status != null)
+                ? orderRepository.findSummariesByCustomerAndStatus(customerId, status, from, to, pageable)
+                : orderRepository.findSummariesByCustomer(customerId, from, to, pageable));
     }
 
     @Override
+    @Transactional
     public OrderResponse cancelOrder(Long orderId, Long customerId) {
         /* assuming customer id with order */
-        Order order = orderRepository.findById(orderId).orElseThrow(() -> new NotFoundException("Order not found with ID: " + orderId));
-        validateOrderCancellable(order, customerId);
-        order.cancel();
-        orderRepository.save(order);
+        int cancelled = orderRepository.cancelIfPending(orderId, customerId, OrderStatus.PENDING, OrderStatus.CANCELLED, LocalDateTime.now());
+        Order order = orderRepository.findWithItemsById(orderId).orElseThrow(() -> archivedOrderRepository.existsById(orderId)
+                ? new BadRequestException("Order cannot be canceled because it is archived", "ORDER_NOT_CANCELLABLE")
+                : new NotFoundException("Order not found with ID: " + orderId));
+        if (cancelled == 0) {
+            orderMetrics.cancelRejected(order.getStatus());
+            validateOrderCancellable(order, customerId);
+            /* still looked cancellable, so it changed between our update and read */
+            throw new BadRequestException("Order cannot be canceled because it is already " + order.getStatus(), "ORDER_NOT_CANCELLABLE");
+        }
+        orderOutbox.orderCancelled(order);
+        orderCache.evict(orderId);
+        recentWrites.written(order.getCustomerId());
+        orderMetrics.orderCancelled();
+        orderStats.statusChanged(OrderStatus.PENDING, OrderStatus.CANCELLED, List.of(new OrderAmount(orderId, order.getTotalAmount())));
         return OrderMapper.mapToResponse(order);
     }
 
+    @Override
+    public OrderTransitionResponse transitionOrders(List<Long> orderIds, OrderStatus status) {
+        if (status == OrderStatus.CANCELLED) {
+            throw new BadRequestException("Orders are cancelled one at a time through the cancel endpoint", "INVALID_TRANSITION");
+        }
+        if (OrderStatus.sourcesOf(status).isEmpty()) {
+            throw new BadRequestException("No order can be moved to " + status, "INVALID_TRANSITION");
+        }
+        List<Long> distinctIds = orderIds.stream().distinct().toList();
+        List<Long> transitioned = transitions.transition(distinctIds, status);
+        Set<Long> moved = new HashSet<>(transitioned);
+        List<Long> rejected = distinctIds.stream().filter(id -> !moved.contains(id)).toList();
+        return new OrderTransitionResponse(status, distinctIds.size(), transitioned.size(), rejected);
+    }
+
+    @Override
+    public OrderStatsResponse getStats() {
+        return orderStats.snapshot();
+    }
+
+    @Override
+    public CustomerStatsResponse getCustomerStats(Long customerId) {
+        return orderStats.customer(customerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, Consumer<OrderResponse> sink) {
+        /* the range is checked by the controller, before the response starts streaming */
+        try (Stream<OrderRow> rows = orderRepository.streamRows(status, createdFrom, createdTo)) {
+            /* rows arrive ordered by order id, so only the order being assembled is held in memory */
+            return OrderMapper.mapRows(rows.iterator(), sink);
+        }
+    }
+
     private void validateOrderCancellable(Order order, Long customerId) {
         if (!order.getCustomerId().equals(customerId)) {
             throw new BadRequestException("You are not authorized to cancel this order", "UNAUTHORIZED_CANCEL");
         }
 
 
-        if (!order.isPending()) {
+        if (!order.getStatus().canTransitionTo(OrderStatus.CANCELLED)) {
             throw new BadRequestException("Order cannot be canceled because it is already " + order.getStatus(), "ORDER_NOT_CANCELLABLE");
         }
     }
-    private OrderResponse mapToResponse(Order savedOrder) {
-        List<OrderItemResponse> itemResponses = savedOrder.getItems().stream().map(i -> new OrderItemResponse(i.getProductId(), i.getProductName(), i.getQuantity(), i.getPrice())).toList(); //
 
-        return new OrderResponse(savedOrder.getId(), savedOrder.getCustomerId(), savedOrder.getStatus(), savedOrder.getTotalAmount(), savedOrder.getCreatedAt(), itemResponses);
+    /* one flat query for the whole page, mapped without entities; keeps the order of orderIds */
+    private List<OrderResponse> findResponses(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, OrderResponse> ordersById = new HashMap<>();
+        OrderMapper.mapRows(orderRepository.findRowsByIdIn(orderIds).iterator(), order -> ordersById.put(order.orderId(), order));
+        return orderIds.stream().map(ordersById::get).filter(Objects::nonNull).toList();
     }
 
 }
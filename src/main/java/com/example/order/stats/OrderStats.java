@@ -0,0 +1,324 @@
+package com.example.order.stats;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.response.CustomerStatsResponse;
+import com.example.order.dto.response.OrderStatsResponse;
+import com.example.order.entity.Order;
+import com.example.order.repository.OrderAmount;
+import com.example.order.utils.Money;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Order counts and totalAmount sums per status, per customer and per creation hour, kept in
+ * {@link LongAdder}s so concurrent writers never contend on one cache line and reads never touch
+ * the database. Creates, cancels and transitions are applied after their transaction commits;
+ * anything that bypasses them (manual SQL, a crash between commit and update) is
+ * corrected by {@link #reconcile()}, which seeds the counters once the application is ready and
+ * then periodically moves them to the database's numbers. Amounts are summed as long minor units
+ * of {@link #SCALE}.
+ * <p>
+ * The counters are per instance: between reconciles each instance only sees the writes made
+ * through it, so in a fleet the numbers can trail by up to one reconcile interval. Per-customer
+ * totals are loaded from the database on a customer's first read and kept for a bounded number of
+ * customers; from then on they are followed like the other counters and reconciled in place.
+ */
+@Slf4j
+@Component
+public class OrderStats {
+
+    static final int SCALE = 2;
+
+    /*
+     * archived orders still count: each table is grouped on its own and the rows are added up here.
+     * The archive only takes orders terminal for far longer than order.stats.hours, so the hour
+     * buckets need the live table alone.
+     */
+    private static final String STATUS_TOTALS = """
+            select status, count(*), sum(total_amount) from orders group by status
+            union all
+            select status, count(*), sum(total_amount) from orders_archive group by status
+            """;
+    /* covered by idx_orders_customer_status_created_at and idx_orders_archive_customer */
+    private static final String CUSTOMER_TOTALS = """
+            select count(*), sum(total_amount) from orders where customer_id = :customerId
+            union all
+            select count(*), sum(total_amount) from orders_archive where customer_id = :customerId
+            """;
+    private static final String CUSTOMERS_TOTALS = """
+            select customer_id, count(*), sum(total_amount) from orders
+            where customer_id in (:customerIds)
+            group by customer_id
+            union all
+            select customer_id, count(*), sum(total_amount) from orders_archive
+            where customer_id in (:customerIds)
+            group by customer_id
+            """;
+    private static final int CUSTOMER_CHUNK = 500;
+    private static final String HOUR_TOTALS = """
+            select cast(created_at as date), hour(created_at), count(*), sum(total_amount) from orders
+            where created_at >= ?
+            group by cast(created_at as date), hour(created_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int hours;
+    private final Map<OrderStatus, Totals> byStatus = new EnumMap<>(OrderStatus.class);
+    private final Cache<Long, Totals> byCustomer;
+    /* ring of hour buckets indexed by epoch hour; a slot is replaced when a newer hour reaches it */
+    private final AtomicReferenceArray<HourTotals> byHour;
+
+    public OrderStats(JdbcTemplate jdbcTemplate,
+                      @Value("${order.stats.hours:48}") int hours,
+                      @Value("${order.stats.max-customers:10000}") long maxCustomers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.hours = hours;
+        this.byCustomer = Caffeine.newBuilder().maximumSize(maxCustomers).build();
+        this.byHour = new AtomicReferenceArray<>(hours);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, new Totals());
+        }
+    }
+
+    public void orderCreated(Order order) {
+        OrderStatus status = order.getStatus();
+        Long customerId = order.getCustomerId();
+        long amount = minorUnits(order.getTotalAmount());
+        LocalDateTime createdAt = order.getCreatedAt();
+        afterCommit(() -> {
+            byStatus.get(status).add(1, amount);
+            /* a customer not held here is loaded with this order on its next read */
+            Totals customer = byCustomer.getIfPresent(customerId);
+            if (customer != null) {
+                customer.add(1, amount);
+            }
+            if (createdAt != null) {
+                hourTotals(epochHour(createdAt)).add(1, amount);
+            }
+        });
+    }
+
+    public void statusChanged(OrderStatus from, OrderStatus to, List<OrderAmount> orders) {
+        long amount = 0;
+        for (OrderAmount order : orders) {
+            amount += minorUnits(order.totalAmount());
+        }
+        int count = orders.size();
+        long total = amount;
+        afterCommit(() -> {
+            byStatus.get(from).add(-count, -total);
+            byStatus.get(to).add(count, total);
+        });
+    }
+
+    public OrderStatsResponse snapshot() {
+        List<OrderStatsResponse.StatusTotals> statuses = new ArrayList<>(byStatus.size());
+        byStatus.forEach((status, totals) ->
+                statuses.add(new OrderStatsResponse.StatusTotals(status, totals.count(), totals.amount())));
+        long currentHour = epochHour(LocalDateTime.now());
+        List<OrderStatsResponse.HourTotals> recentHours = new ArrayList<>(hours);
+        for (int i = 0; i < hours; i++) {
+            HourTotals slot = byHour.get(i);
+            if (slot != null && slot.epochHour > currentHour - hours && slot.count() > 0) {
+                recentHours.add(new OrderStatsResponse.HourTotals(hourStart(slot.epochHour), slot.count(), slot.amount()));
+            }
+        }
+        recentHours.sort(Comparator.comparing(OrderStatsResponse.HourTotals::hour));
+        return new OrderStatsResponse(statuses, recentHours);
+    }
+
+    public CustomerStatsResponse customer(Long customerId) {
+        Totals totals = byCustomer.get(customerId, this::loadCustomer);
+        return new CustomerStatsResponse(customerId, totals.count(), totals.amount());
+    }
+
+    private Totals loadCustomer(Long customerId) {
+        Totals totals = new Totals();
+        namedJdbcTemplate.query(CUSTOMER_TOTALS, Map.of("customerId", customerId), rs -> {
+            totals.add(rs.getLong(1), minorUnits(rs.getBigDecimal(2)));
+        });
+        return totals;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Moves each counter to the database's numbers. Every counter is read before its query runs
+     * and then shifted by the difference between the query result and that reading, so updates
+     * applied while the query runs are kept on top of the database's numbers. What is left is a
+     * transaction that committed before the query but whose after-commit update lands during it:
+     * that one is counted twice until the next reconcile. Customers held in memory are
+     * reconciled the same way, a chunk at a time, so their reads stay off the database.
+     */
+    @Scheduled(fixedDelayString = "${order.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        long start = System.nanoTime();
+
+        Map<OrderStatus, long[]> statusesBefore = new EnumMap<>(OrderStatus.class);
+        byStatus.forEach((status, totals) -> statusesBefore.put(status, totals.read()));
+        Map<OrderStatus, long[]> statuses = new EnumMap<>(OrderStatus.class);
+        jdbcTemplate.query(STATUS_TOTALS, rs -> {
+            statuses.merge(OrderStatus.valueOf(rs.getString(1)), new long[]{rs.getLong(2), minorUnits(rs.getBigDecimal(3))}, OrderStats::sum);
+        });
+        byStatus.forEach((status, totals) -> totals.shift(statusesBefore.get(status), statuses.getOrDefault(status, new long[2])));
+
+        reconcileCustomers();
+
+        long currentHour = epochHour(LocalDateTime.now());
+        long firstHour = currentHour - hours + 1;
+        Map<Long, long[]> hoursBefore = new HashMap<>();
+        for (long hour = firstHour; hour <= currentHour; hour++) {
+            hoursBefore.put(hour, hourTotals(hour).read());
+        }
+        Map<Long, long[]> hourRows = new HashMap<>();
+        jdbcTemplate.query(HOUR_TOTALS, rs -> {
+            LocalDate day = rs.getDate(1).toLocalDate();
+            long hour = epochHour(day.atTime(rs.getInt(2), 0));
+            hourRows.put(hour, new long[]{rs.getLong(3), minorUnits(rs.getBigDecimal(4))});
+        }, Timestamp.valueOf(hourStart(firstHour)));
+        for (long hour = firstHour; hour <= currentHour; hour++) {
+            hourTotals(hour).shift(hoursBefore.get(hour), hourRows.getOrDefault(hour, new long[2]));
+        }
+
+        log.debug("Reconciled order stats in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void reconcileCustomers() {
+        List<Long> held = new ArrayList<>(byCustomer.asMap().keySet());
+        for (int from = 0; from < held.size(); from += CUSTOMER_CHUNK) {
+            Map<Long, Totals> chunk = new HashMap<>();
+            Map<Long, long[]> before = new HashMap<>();
+            for (Long customerId : held.subList(from, Math.min(from + CUSTOMER_CHUNK, held.size()))) {
+                Totals totals = byCustomer.getIfPresent(customerId);
+                if (totals != null) {
+                    chunk.put(customerId, totals);
+                    before.put(customerId, totals.read());
+                }
+            }
+            if (chunk.isEmpty()) {
+                continue;
+            }
+            Map<Long, long[]> rows = new HashMap<>();
+            namedJdbcTemplate.query(CUSTOMERS_TOTALS, Map.of("customerIds", chunk.keySet()), rs -> {
+                rows.merge(rs.getLong(1), new long[]{rs.getLong(2), minorUnits(rs.getBigDecimal(3))}, OrderStats::sum);
+            });
+            /* a customer evicted meanwhile shifts a detached counter, which is harmless */
+            chunk.forEach((customerId, totals) -> totals.shift(before.get(customerId), rows.getOrDefault(customerId, new long[2])));
+        }
+    }
+
+    private HourTotals hourTotals(long epochHour) {
+        int index = (int) Math.floorMod(epochHour, (long) hours);
+        while (true) {
+            HourTotals slot = byHour.get(index);
+            if (slot != null && slot.epochHour == epochHour) {
+                return slot;
+            }
+            if (slot != null && slot.epochHour > epochHour) {
+                /* too old for the ring; count it in a throwaway bucket */
+                return new HourTotals(epochHour);
+            }
+            HourTotals fresh = new HourTotals(epochHour);
+            if (byHour.compareAndSet(index, slot, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /* runs once the surrounding transaction commits, or right away outside one */
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static long[] sum(long[] live, long[] archived) {
+        return new long[]{live[0] + archived[0], live[1] + archived[1]};
+    }
+
+    private static long minorUnits(BigDecimal amount) {
+        return amount == null ? 0 : Money.toMinorUnits(amount.setScale(SCALE, RoundingMode.HALF_UP), SCALE);
+    }
+
+    private static long epochHour(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private static LocalDateTime hourStart(long epochHour) {
+        return LocalDateTime.ofEpochSecond(epochHour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    private static class Totals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder amount = new LongAdder();
+
+        void add(long orders, long minorUnits) {
+            count.add(orders);
+            amount.add(minorUnits);
+        }
+
+        long[] read() {
+            return new long[]{count.sum(), amount.sum()};
+        }
+
+        /* adds the difference to a reading taken before the query, so increments since then are kept */
+        void shift(long[] before, long[] values) {
+            count.add(values[0] - before[0]);
+            amount.add(values[1] - before[1]);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        BigDecimal amount() {
+            return Money.toBigDecimal(amount.sum(), SCALE);
+        }
+    }
+
+    private static final class HourTotals extends Totals {
+        private final long epochHour;
+
+        HourTotals(long epochHour) {
+            this.epochHour = epochHour;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.order.transitions;
+
+import com.example.order.dto.enums.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * In-process work queue that moves new orders to PROCESSING within about one drain interval,
+ * instead of leaving them for the next status update job run. Ids are queued only after the
+ * creating transaction commits. The queue is bounded: an id that does not fit, or whose batch
+ * fails, stays PENDING and is picked up by the status update job, which still sweeps every
+ * pending order.
+ */
+@Slf4j
+@Component
+public class NewOrderQueue {
+
+    private final OrderTransitions transitions;
+    private final BlockingQueue<Long> queue;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public NewOrderQueue(OrderTransitions transitions,
+                         @Value("${order.transitions.new-orders.enabled:true}") boolean enabled,
+                         @Value("${order.transitions.new-orders.capacity:100000}") int capacity,
+                         @Value("${order.transitions.new-orders.batch-size:500}") int batchSize) {
+        this.transitions = transitions;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    public void submit(Collection<Long> orderIds) {
+        if (!enabled || orderIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(orderIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                offer(orderIds);
+            }
+        });
+    }
+
+    private void offer(Collection<Long> orderIds) {
+        for (Long id : orderIds) {
+            if (!queue.offer(id)) {
+                log.debug("New order queue full, leaving order {} to the status update job", id);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.transitions.new-orders.interval:PT1S}")
+    public void process() {
+        drain();
+    }
+
+    /* returns the number of orders moved to PROCESSING */
+    public long drain() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        long moved = 0;
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                moved += transitions.transition(batch, OrderStatus.PROCESSING).size();
+            } catch (DataAccessException ex) {
+                log.warn("Could not move {} new orders to PROCESSING, leaving them to the status update job: {}", batch.size(), ex.getMessage());
+            }
+            batch.clear();
+        }
+        return moved;
+    }
+}
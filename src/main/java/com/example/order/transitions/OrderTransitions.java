@@ -0,0 +1,115 @@
+package com.example.order.transitions;
+
+import com.example.order.cache.OrderCache;
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.outbox.OrderOutbox;
+import com.example.order.repository.OrderAmount;
+import com.example.order.repository.OrderRepository;
+import com.example.order.stats.OrderStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies status transitions with set-based conditional updates. Each statement only matches rows
+ * whose current status may legally move to the target (see {@link OrderStatus#canTransitionTo}),
+ * so a concurrent cancel or a repeated command just matches fewer rows instead of overwriting a
+ * newer status. The rows a statement changed are read back by the updatedAt it stamped, and only
+ * those get an outbox event and a cache eviction.
+ */
+@Component
+public class OrderTransitions {
+
+    private final OrderRepository orderRepository;
+    private final OrderCache orderCache;
+    private final OrderMetrics orderMetrics;
+    private final OrderOutbox orderOutbox;
+    private final OrderStats orderStats;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OrderTransitions(OrderRepository orderRepository,
+                            OrderCache orderCache,
+                            OrderMetrics orderMetrics,
+                            OrderOutbox orderOutbox,
+                            OrderStats orderStats,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${order.transitions.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderCache = orderCache;
+        this.orderMetrics = orderMetrics;
+        this.orderOutbox = orderOutbox;
+        this.orderStats = orderStats;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Moves every listed order that is allowed to reach {@code target}, one transaction per chunk of
+     * ids. Ids are sorted first so concurrent commands lock rows in the same order.
+     *
+     * @return the ids that were transitioned; the rest were unknown or not in a source status
+     */
+    public List<Long> transition(Collection<Long> orderIds, OrderStatus target) {
+        Set<OrderStatus> sources = OrderStatus.sourcesOf(target);
+        /* the read-back cannot tell which status a row came from, so the source has to be unique */
+        if (sources.size() != 1) {
+            throw new IllegalArgumentException(target + " is not reachable from exactly one status: " + sources);
+        }
+        List<Long> ids = orderIds.stream().distinct().sorted().toList();
+        List<Long> transitioned = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            transitioned.addAll(transactionTemplate.execute(status -> transitionIds(chunk, sources, target)));
+        }
+        return transitioned;
+    }
+
+    /* for callers that already run a transaction over a scanned id range, like the status update job */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int transitionRange(OrderStatus from, OrderStatus to, long firstId, long lastId) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalArgumentException(from + " cannot transition to " + to);
+        }
+        LocalDateTime now = stamp();
+        int updated = orderRepository.updateStatusInRange(from, to, firstId, lastId, now);
+        if (updated > 0) {
+            published(from, to, orderRepository.findAmountsUpdatedAt(to, firstId, lastId, now), now);
+        }
+        return updated;
+    }
+
+    private List<Long> transitionIds(List<Long> ids, Set<OrderStatus> sources, OrderStatus target) {
+        LocalDateTime now = stamp();
+        int updated = orderRepository.updateStatusByIds(ids, sources, target, now);
+        if (updated == 0) {
+            return List.of();
+        }
+        return published(sources.iterator().next(), target, orderRepository.findAmountsInUpdatedAt(ids, target, now), now);
+    }
+
+    private List<Long> published(OrderStatus from, OrderStatus to, List<OrderAmount> changed, LocalDateTime at) {
+        List<Long> transitioned = changed.stream().map(OrderAmount::orderId).toList();
+        orderOutbox.statusChanged(transitioned, to, at);
+        orderCache.evictAll(transitioned);
+        orderMetrics.transitioned(to, transitioned.size());
+        orderStats.statusChanged(from, to, changed);
+        return transitioned;
+    }
+
+    /* truncated to what the column stores, so the read-back matches the statement's rows */
+    private static LocalDateTime stamp() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
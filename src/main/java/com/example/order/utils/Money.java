@@ -0,0 +1,46 @@
+package com.example.order.utils;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-scale money as a long count of minor units (e.g. cents at scale 2). Arithmetic on the
+ * long form is exact and allocation free; every operation throws {@link ArithmeticException}
+ * instead of overflowing, so callers can fall back to {@link BigDecimal}.
+ */
+public final class Money {
+
+    /* beyond this, 10^scale alone eats a third of the long range */
+    public static final int MAX_SCALE = 6;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private Money() {
+    }
+
+    /** {@code amount} in minor units of {@code scale}; throws if it has more decimals or does not fit a long. */
+    public static long toMinorUnits(BigDecimal amount, int scale) {
+        int shift = scale - amount.scale();
+        if (shift < 0 || shift >= POWERS_OF_TEN.length) {
+            /* more decimals than scale (exact only with trailing zeros) or a far negative scale */
+            return amount.movePointRight(scale).longValueExact();
+        }
+        /* the usual case: the unscaled value, widened to scale in long arithmetic */
+        return Math.multiplyExact(amount.unscaledValue().longValueExact(), POWERS_OF_TEN[shift]);
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits, int scale) {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    public static long times(long minorUnits, int quantity) {
+        return Math.multiplyExact(minorUnits, quantity);
+    }
+
+    public static long plus(long minorUnits, long other) {
+        return Math.addExact(minorUnits, other);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.order.utils;
+
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last order returned by a keyset page. Clients only ever see the opaque
+ * {@link #encode() token} and hand it back as {@code after} to continue from that row.
+ */
+public record OrderCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static OrderCursor of(OrderResponse order) {
+        return new OrderCursor(order.createdAt(), order.orderId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor: " + token, "INVALID_CURSOR");
+        }
+    }
+}
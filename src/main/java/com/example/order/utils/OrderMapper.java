@@ -7,11 +7,15 @@ import com.example.order.dto.response.OrderItemResponse;
 import com.example.order.dto.response.OrderResponse;
 import com.example.order.entity.Order;
 import com.example.order.entity.OrderItem;
+import com.example.order.repository.OrderRow;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class OrderMapper {
@@ -40,7 +44,31 @@ public class OrderMapper {
                 .collect(Collectors.toList());
     }
 
-    private static BigDecimal calculateTotalAmount(@NotEmpty List<OrderItemRequestDTO> items) {
+    /**
+     * Sum of price × quantity, equal (scale included) to adding the BigDecimal products to ZERO.
+     * That result has the largest price scale (at least 0), so the sum is taken in long minor units
+     * of that scale and converted once; very large amounts or scales use the BigDecimal chain.
+     */
+    public static BigDecimal calculateTotalAmount(@NotEmpty List<OrderItemRequestDTO> items) {
+        int scale = 0;
+        for (OrderItemRequestDTO item : items) {
+            scale = Math.max(scale, item.price().scale());
+        }
+        if (scale <= Money.MAX_SCALE) {
+            try {
+                long total = 0;
+                for (OrderItemRequestDTO item : items) {
+                    total = Money.plus(total, Money.times(Money.toMinorUnits(item.price(), scale), item.quantity()));
+                }
+                return Money.toBigDecimal(total, scale);
+            } catch (ArithmeticException overflow) {
+                // fall through to the exact path
+            }
+        }
+        return calculateTotalAmountExact(items);
+    }
+
+    static BigDecimal calculateTotalAmountExact(List<OrderItemRequestDTO> items) {
         return items.stream()
                 .map(i -> i.price().multiply(BigDecimal.valueOf(i.quantity())))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -52,4 +80,42 @@ public class OrderMapper {
 
         return new OrderResponse(savedOrder.getId(), savedOrder.getCustomerId(), savedOrder.getStatus(), savedOrder.getTotalAmount(), savedOrder.getCreatedAt(), itemResponses);
     }
+
+    /**
+     * Groups flat order/item rows into responses. Rows of one order must be adjacent, as they are
+     * when the query orders by order id; each order is handed to {@code sink} as soon as its rows end,
+     * so at most one order is held at a time.
+     */
+    public static long mapRows(Iterator<OrderRow> rows, Consumer<OrderResponse> sink) {
+        long orders = 0;
+        OrderRow head = null;
+        List<OrderItemResponse> items = new ArrayList<>();
+        while (rows.hasNext()) {
+            OrderRow row = rows.next();
+            if (head != null && !head.orderId().equals(row.orderId())) {
+                sink.accept(mapToResponse(head, items));
+                orders++;
+                items = new ArrayList<>();
+            }
+            head = row;
+            if (row.productId() != null) {
+                items.add(new OrderItemResponse(row.productId(), row.productName(), row.quantity(), row.price()));
+            }
+        }
+        if (head != null) {
+            sink.accept(mapToResponse(head, items));
+            orders++;
+        }
+        return orders;
+    }
+
+    public static List<OrderResponse> mapRows(List<OrderRow> rows) {
+        List<OrderResponse> responses = new ArrayList<>();
+        mapRows(rows.iterator(), responses::add);
+        return responses;
+    }
+
+    private static OrderResponse mapToResponse(OrderRow row, List<OrderItemResponse> items) {
+        return new OrderResponse(row.orderId(), row.customerId(), row.status(), row.totalAmount(), row.createdAt(), items);
+    }
 }
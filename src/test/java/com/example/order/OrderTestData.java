@@ -0,0 +1,42 @@
+package com.example.order;
+
+import com.example.order.dto.request.OrderItemRequestDTO;
+import com.example.order.dto.request.OrderRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Shared fixtures for the tests that run against the database: the tables an order can leave rows
+ * in, cleared in one place so a new table is cleaned before every test, and order requests.
+ */
+public final class OrderTestData {
+
+    /* rows referencing others come first */
+    private static final List<String> TABLES = List.of(
+            "order_outbox", "idempotency_keys", "status_update_partitions",
+            "items_archive", "orders_archive", "items", "orders");
+
+    private OrderTestData() {
+    }
+
+    public static void clearTables(JdbcTemplate jdbcTemplate) {
+        for (String table : TABLES) {
+            jdbcTemplate.update("delete from " + table);
+        }
+    }
+
+    /* a single line of product 1, "Product A" */
+    public static OrderRequest request(int quantity, BigDecimal price) {
+        return request(item(1L, "Product A", quantity, price));
+    }
+
+    public static OrderRequest request(OrderItemRequestDTO... items) {
+        return new OrderRequest(List.of(items));
+    }
+
+    public static OrderItemRequestDTO item(long productId, String productName, int quantity, BigDecimal price) {
+        return new OrderItemRequestDTO(productId, productName, quantity, price);
+    }
+}
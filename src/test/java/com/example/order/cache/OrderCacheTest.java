@@ -0,0 +1,84 @@
+package com.example.order.cache;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.jobs.OrderStatusUpdateJob;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderCacheTest {
+
+    private static final Long CUSTOMER_ID = 101L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusUpdateJob orderStatusUpdateJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+    }
+
+    @Test
+    void servesRepeatedReadsFromCache() {
+        Long orderId = createOrder();
+        orderService.getOrder(orderId);
+
+        // a change behind the service's back stays invisible until the entry is evicted
+        jdbcTemplate.update("update orders set total_amount = 1 where id = ?", orderId);
+
+        assertEquals(0, BigDecimal.TEN.compareTo(orderService.getOrder(orderId).totalAmount()));
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", OrderCache.NAME).tag("result", "hit").functionCounter().count() >= 1);
+    }
+
+    @Test
+    void cancelEvictsCachedOrder() {
+        Long orderId = createOrder();
+        orderService.getOrder(orderId);
+
+        orderService.cancelOrder(orderId, CUSTOMER_ID);
+
+        assertEquals(OrderStatus.CANCELLED, orderService.getOrder(orderId).status());
+    }
+
+    @Test
+    void statusUpdateJobEvictsTransitionedOrders() {
+        Long orderId = createOrder();
+        assertEquals(OrderStatus.PENDING, orderService.getOrder(orderId).status());
+
+        orderStatusUpdateJob.runOnce();
+
+        assertEquals(OrderStatus.PROCESSING, orderService.getOrder(orderId).status());
+    }
+
+    private Long createOrder() {
+        OrderRequest request = request(1, BigDecimal.TEN);
+        OrderResponse response = orderService.create(OrderMapper.mapToOrder(CUSTOMER_ID, request));
+        return response.orderId();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.order.cache;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.response.OrderResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Three instances, each with its own near cache, sharing one in-memory shared tier and one
+ * invalidation bus. Checks hit rates per tier and how long a change made through one instance
+ * stays visible as stale data on the others.
+ */
+public class TwoLevelOrderCacheTest {
+
+    private static final int NODES = 3;
+    private static final int ORDERS = 100;
+    private static final int READS_PER_NODE = 5;
+    /* the bus delivers asynchronously, but within milliseconds */
+    private static final long MAX_STALENESS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final Map<Long, OrderResponse> database = new ConcurrentHashMap<>();
+    private final AtomicInteger databaseLoads = new AtomicInteger();
+    private InMemorySharedOrderCache shared;
+    private InMemoryOrderInvalidationBus bus;
+    private List<OrderCache> nodes;
+
+    @BeforeEach
+    void setUp() {
+        ids().forEach(id -> database.put(id, order(id, OrderStatus.PENDING)));
+        shared = new InMemorySharedOrderCache(Duration.ofMillis(200), Duration.ofMinutes(10), 10_000);
+        bus = new InMemoryOrderInvalidationBus();
+        nodes = IntStream.range(0, NODES)
+                .mapToObj(i -> new OrderCache(new CaffeineCacheManager(OrderCache.NAME), shared, bus))
+                .toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.destroy();
+    }
+
+    @Test
+    void sharedTierLoadsEachOrderFromTheDatabaseOnce() {
+        for (int round = 0; round < READS_PER_NODE; round++) {
+            for (OrderCache node : nodes) {
+                ids().forEach(id -> node.get(id, () -> load(id)));
+            }
+        }
+
+        /* every near miss but the first node's goes no further than the shared tier */
+        long nearMisses = (long) NODES * ORDERS;
+        assertEquals(ORDERS, databaseLoads.get());
+        assertEquals(nearMisses, shared.hits() + shared.misses());
+        assertEquals((NODES - 1) / (double) NODES, shared.hits() / (double) nearMisses, 1e-9);
+    }
+
+    @Test
+    void changeOnOneNodeInvalidatesEveryNearCache() throws InterruptedException {
+        Long orderId = 1L;
+        nodes.forEach(node -> assertEquals(OrderStatus.PENDING, node.get(orderId, () -> load(orderId)).status()));
+
+        long changedAt = System.nanoTime();
+        database.put(orderId, order(orderId, OrderStatus.CANCELLED));
+        nodes.get(0).evict(orderId);
+
+        for (int i = 1; i < NODES; i++) {
+            OrderCache node = nodes.get(i);
+            while (node.get(orderId, () -> load(orderId)).status() != OrderStatus.CANCELLED) {
+                assertTrue(System.nanoTime() - changedAt < MAX_STALENESS_NANOS, "node " + i + " still serves the old order");
+                Thread.sleep(1);
+            }
+        }
+        assertEquals(OrderStatus.CANCELLED, nodes.get(0).get(orderId, () -> load(orderId)).status());
+    }
+
+    @Test
+    void evictionKeepsARacingReaderFromRepublishingTheOldRow() {
+        Long orderId = 1L;
+        OrderResponse loadedBeforeTheChange = load(orderId);
+
+        nodes.get(0).evict(orderId);
+        shared.put(orderId, loadedBeforeTheChange);
+
+        assertNull(shared.get(orderId));
+    }
+
+    @Test
+    void expiredTombstoneLetsTheNewRowIn() throws InterruptedException {
+        Long orderId = 1L;
+        nodes.get(0).evict(orderId);
+        Thread.sleep(300);
+
+        shared.put(orderId, load(orderId));
+
+        assertNotNull(shared.get(orderId));
+    }
+
+    private OrderResponse load(Long orderId) {
+        databaseLoads.incrementAndGet();
+        return database.get(orderId);
+    }
+
+    private static LongStream ids() {
+        return LongStream.rangeClosed(1, ORDERS);
+    }
+
+    private static OrderResponse order(Long orderId, OrderStatus status) {
+        return new OrderResponse(orderId, 101L, status, BigDecimal.TEN, LocalDateTime.of(2024, 1, 1, 0, 0), List.of());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.order.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistenceSettingsCheckTest {
+
+    @Test
+    void prodProfileHasNoWarnings() throws IOException {
+        MockEnvironment environment = new MockEnvironment();
+        load(environment, "application.properties");
+        load(environment, "application-prod.properties");
+
+        assertEquals(List.of(), new PersistenceSettingsCheck(environment).problems());
+    }
+
+    @Test
+    void developmentDefaultsAreFlagged() throws IOException {
+        MockEnvironment environment = new MockEnvironment();
+        load(environment, "application.properties");
+
+        List<String> problems = new PersistenceSettingsCheck(environment).problems();
+        assertTrue(problems.stream().anyMatch(p -> p.startsWith("SQL echo is on")));
+        assertTrue(problems.stream().anyMatch(p -> p.contains("cachePrepStmts")));
+        assertTrue(problems.stream().anyMatch(p -> p.contains("useServerPrepStmts")));
+        /* rewriteBatchedStatements is already on the url */
+        assertFalse(problems.stream().anyMatch(p -> p.contains("rewriteBatchedStatements")));
+        /* 200 Tomcat threads against a pool of 20 */
+        assertTrue(problems.stream().anyMatch(p -> p.startsWith("connection pool of 20")));
+    }
+
+    @Test
+    void schedulerThreadsAreCountedAndASingleOneIsFlagged() throws IOException {
+        MockEnvironment environment = new MockEnvironment();
+        load(environment, "application.properties");
+        load(environment, "application-prod.properties");
+        environment.setProperty("spring.task.scheduling.pool.size", "8");
+        /* 32 requests + 1 id block + 8 scheduler threads + 2 workers > 40 */
+        assertTrue(new PersistenceSettingsCheck(environment).problems().get(0).startsWith("connection pool of 40"));
+
+        environment.setProperty("spring.task.scheduling.pool.size", "1");
+        assertEquals(1, new PersistenceSettingsCheck(environment).problems().size());
+        assertTrue(new PersistenceSettingsCheck(environment).problems().get(0).startsWith("spring.task.scheduling.pool.size is 1"));
+    }
+
+    @Test
+    void poolMustLeaveRoomForTheIdBlockReservation() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.properties.hibernate.jdbc.batch_size", "50")
+                .withProperty("spring.jpa.properties.hibernate.order_inserts", "true")
+                .withProperty("spring.jpa.properties.hibernate.order_updates", "true")
+                .withProperty("spring.jpa.properties.hibernate.query.plan_cache_max_size", "2048")
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("order.web.virtual-threads.max-concurrent-requests", "16")
+                .withProperty("order.scheduling.enabled", "false")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "16");
+
+        assertEquals(1, new PersistenceSettingsCheck(environment).problems().size());
+
+        environment.setProperty("spring.datasource.hikari.maximum-pool-size", "17");
+        assertEquals(List.of(), new PersistenceSettingsCheck(environment).problems());
+    }
+
+    private static void load(MockEnvironment environment, String resource) throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource(resource));
+        properties.stringPropertyNames().forEach(name -> environment.setProperty(name, properties.getProperty(name)));
+    }
+}
@@ -3,11 +3,18 @@ package com.example.order.controller;
 import com.example.order.dto.enums.OrderStatus;
 import com.example.order.dto.request.OrderItemRequestDTO;
 import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.BulkOrderResult;
 import com.example.order.dto.response.OrderItemResponse;
+import com.example.order.dto.response.OrderPageResponse;
 import com.example.order.dto.response.OrderResponse;
+import com.example.order.dto.response.OrderSummaryResponse;
+import com.example.order.dto.response.OrderTransitionResponse;
 import com.example.order.entity.Order;
 import com.example.order.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -16,19 +23,26 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
@@ -37,6 +51,8 @@ public class OrderControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
     @MockBean
     private OrderService orderService;
 
@@ -96,6 +112,44 @@ public class OrderControllerTest {
         verifyNoMoreInteractions(orderService);
     }
 
+    @Test
+    void testGetOrderByIdAsCbor() throws Exception {
+        Mockito.when(orderService.getOrder(eq(1L))).thenReturn(orderResponse);
+
+        MvcResult result = mockMvc.perform(get("/api/order/{orderId}", 1L).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn();
+
+        JsonNode order = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(1L, order.get("orderId").asLong());
+        assertEquals("pending", order.get("status").asText());
+        assertEquals(orderResponse.createdAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), order.get("createdAt").asText());
+        assertEquals("Laptop", order.get("items").get(0).get("productName").asText());
+    }
+
+    @Test
+    void testOrderResponseJsonRoundTrips() throws Exception {
+        OrderResponse order = new OrderResponse(7L, 9L, OrderStatus.SHIPPED, new BigDecimal("10.50"),
+                LocalDateTime.of(2024, 3, 1, 12, 0), List.of(new OrderItemResponse(1L, "Laptop", 2, new BigDecimal("5.25"))));
+
+        String json = objectMapper.writeValueAsString(order);
+
+        assertEquals("{\"orderId\":7,\"customerId\":9,\"status\":\"shipped\",\"totalAmount\":10.50,"
+                + "\"createdAt\":\"2024-03-01T12:00:00\",\"items\":[{\"productId\":1,\"productName\":\"Laptop\",\"quantity\":2,\"price\":5.25}]}", json);
+        assertEquals(order, objectMapper.readValue(json, OrderResponse.class));
+    }
+
+    @Test
+    void testOrderResponseFollowsMapperDateSettings() throws Exception {
+        OrderResponse order = new OrderResponse(7L, 9L, OrderStatus.SHIPPED, new BigDecimal("10.50"),
+                LocalDateTime.of(2024, 3, 1, 12, 0), List.of());
+
+        JsonNode json = objectMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).valueToTree(order);
+
+        assertEquals("[2024,3,1,12,0]", json.get("createdAt").toString());
+    }
+
     // ------------------- GET ALL ORDERS WITHOUT STATUS -------------------
     @Test
     void testGetAllOrdersWithoutStatus() throws Exception {
@@ -130,6 +184,38 @@ public class OrderControllerTest {
         verifyNoMoreInteractions(orderService);
     }
 
+    @Test
+    void testGetOrdersAfterCursor() throws Exception {
+        Mockito.when(orderService.getOrdersAfter(eq(OrderStatus.PENDING), eq("abc"), eq(20)))
+                .thenReturn(new OrderPageResponse(List.of(orderResponse), "def"));
+
+        mockMvc.perform(get("/api/order/cursor")
+                        .param("status", "PENDING")
+                        .param("after", "abc")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].orderId").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+
+        verify(orderService).getOrdersAfter(eq(OrderStatus.PENDING), eq("abc"), eq(20));
+        verifyNoMoreInteractions(orderService);
+    }
+
+    @Test
+    void testTransitionOrders() throws Exception {
+        Mockito.when(orderService.transitionOrders(eq(List.of(1L, 2L, 3L)), eq(OrderStatus.SHIPPED)))
+                .thenReturn(new OrderTransitionResponse(OrderStatus.SHIPPED, 3, 2, List.of(3L)));
+
+        mockMvc.perform(post("/api/order/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\":[1,2,3],\"status\":\"shipped\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned").value(2))
+                .andExpect(jsonPath("$.rejectedIds[0]").value(3L));
+
+        verify(orderService).transitionOrders(eq(List.of(1L, 2L, 3L)), eq(OrderStatus.SHIPPED));
+        verifyNoMoreInteractions(orderService);
+    }
 
     @Test
     void testCancelOrder() throws Exception {
@@ -144,4 +230,119 @@ public class OrderControllerTest {
         verify(orderService).cancelOrder(eq(1L), eq(123L));
         verifyNoMoreInteractions(orderService);
     }
+
+    @Test
+    void testCreateBulkJsonReportsInvalidOrdersInPlace() throws Exception {
+        OrderRequest valid = new OrderRequest(List.of(new OrderItemRequestDTO(1L, "Laptop", 1, BigDecimal.valueOf(1000))));
+        OrderRequest invalid = new OrderRequest(List.of(new OrderItemRequestDTO(1L, "", 0, BigDecimal.valueOf(1000))));
+
+        Mockito.when(orderService.createAll(Mockito.anyList()))
+                .thenReturn(List.of(BulkOrderResult.created(0, orderResponse),
+                        BulkOrderResult.failed(1)));
+
+        mockMvc.perform(post("/api/order/bulk")
+                        .header("X-Customer-Id", 123L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid, valid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("created"))
+                .andExpect(jsonPath("$.results[0].order.orderId").value(1L))
+                .andExpect(jsonPath("$.results[1].status").value("invalid"))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[2].status").value("failed"))
+                .andExpect(jsonPath("$.results[2].index").value(2))
+                .andExpect(jsonPath("$.results[2].error").value(BulkOrderResult.STORE_FAILED));
+    }
+
+    @Test
+    void testCreateBulkNdjson() throws Exception {
+        OrderRequest valid = new OrderRequest(List.of(new OrderItemRequestDTO(1L, "Laptop", 1, BigDecimal.valueOf(1000))));
+        String body = objectMapper.writeValueAsString(valid) + "\n" + objectMapper.writeValueAsString(valid) + "\n";
+
+        Mockito.when(orderService.createAll(Mockito.anyList()))
+                .thenReturn(List.of(BulkOrderResult.created(0, orderResponse), BulkOrderResult.created(1, orderResponse)));
+
+        mockMvc.perform(post("/api/order/bulk")
+                        .header("X-Customer-Id", 123L)
+                        .contentType(OrderController.NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.results[1].index").value(1));
+    }
+
+    @Test
+    void testCreateBulkNdjsonMalformed() throws Exception {
+        mockMvc.perform(post("/api/order/bulk")
+                        .header("X-Customer-Id", 123L)
+                        .contentType(OrderController.NDJSON)
+                        .content("{\"items\": [\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportOrdersAsNdjson() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            Consumer<OrderResponse> sink = invocation.getArgument(3);
+            sink.accept(orderResponse);
+            sink.accept(orderResponse);
+            return 2L;
+        }).when(orderService).exportOrders(eq(OrderStatus.PENDING), eq(LocalDateTime.of(2024, 1, 1, 0, 0)), Mockito.isNull(), Mockito.any());
+
+        MvcResult result = mockMvc.perform(get("/api/order/export")
+                        .param("status", "PENDING")
+                        .param("createdFrom", "2024-01-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(OrderController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[1], OrderResponse.class).orderId());
+    }
+
+    @Test
+    void testExportRejectsEmptyRangeBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/order/export")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("createdTo", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testGetCustomerOrders() throws Exception {
+        OrderSummaryResponse summary = new OrderSummaryResponse(1L, OrderStatus.SHIPPED, BigDecimal.valueOf(1000), LocalDateTime.now());
+        Mockito.when(orderService.getCustomerOrders(eq(123L), eq(OrderStatus.SHIPPED), Mockito.isNull(), Mockito.isNull(), eq(0), eq(10)))
+                .thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/api/order/customer")
+                        .header("X-Customer-Id", 123L)
+                        .param("status", "SHIPPED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderId").value(1L))
+                .andExpect(jsonPath("$[0].status").value("shipped"))
+                .andExpect(jsonPath("$[0].items").doesNotExist());
+    }
+
+    @Test
+    void testCreateOrderPassesIdempotencyKey() throws Exception {
+        OrderRequest orderRequest = new OrderRequest(List.of(new OrderItemRequestDTO(1L, "Laptop", 1, BigDecimal.valueOf(1000))));
+        Mockito.when(orderService.create(Mockito.<Order>any(), eq("retry-42"))).thenReturn(orderResponse);
+
+        mockMvc.perform(post("/api/order")
+                        .header("X-Customer-Id", 123L)
+                        .header("Idempotency-Key", "retry-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.orderId").value(1L));
+
+        verify(orderService).create(Mockito.<Order>any(), eq("retry-42"));
+    }
 }
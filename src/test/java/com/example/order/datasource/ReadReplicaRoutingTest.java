@@ -0,0 +1,131 @@
+package com.example.order.datasource;
+
+import com.example.order.cache.OrderCache;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The first replica points at the primary's in-memory database, so it sees every write at once;
+ * the second one cannot be reached. Connections served per replica show where each read went.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "order.datasource.replicas.enabled=true",
+        "order.datasource.replicas.urls=jdbc:h2:mem:replica-routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE,jdbc:h2:tcp://127.0.0.1:1/mem:unreachable",
+        "order.datasource.replicas.connection-timeout=PT0.25S",
+        "order.datasource.replicas.max-lag=PT0.3S",
+        "order.datasource.replicas.health-check-interval=PT0.2S"
+})
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+
+    private static final Long CUSTOMER_ID = 301L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ReplicaDataSource replicas;
+
+    @Autowired
+    private OrderCache orderCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+        replicas.checkHealth();
+    }
+
+    @Test
+    void healthCheckTakesTheUnreachableReplicaOutOfRotation() {
+        List<ReplicaDataSource.ReplicaStatus> status = replicas.status();
+        assertTrue(status.get(0).healthy());
+        assertFalse(status.get(1).healthy());
+
+        long served = served(1);
+        long fallbacks = replicas.primaryFallbacks();
+        for (int i = 0; i < 5; i++) {
+            orderService.getAllOrders(null, 0, 10);
+        }
+        assertEquals(0, served(1) - served);
+        assertEquals(fallbacks, replicas.primaryFallbacks());
+    }
+
+    @Test
+    void readOnlyReadsGoToTheReplica() {
+        long served = served(0);
+        orderService.getAllOrders(null, 0, 10);
+        orderService.getOrdersAfter(null, null, 10);
+        assertEquals(2, served(0) - served);
+    }
+
+    @Test
+    void exportStreamsFromTheReplicaWithCursorFetch() {
+        OrderRequest request = request(1, new BigDecimal("10.00"));
+        orderService.create(OrderMapper.mapToOrder(CUSTOMER_ID, request));
+        orderService.create(OrderMapper.mapToOrder(CUSTOMER_ID, request));
+
+        long served = served(0);
+        List<Long> servedWhileStreaming = new ArrayList<>();
+        long exported = orderService.exportOrders(null, null, null, order -> servedWhileStreaming.add(served(0)));
+
+        assertEquals(2, exported);
+        assertEquals(List.of(served + 1, served + 1), servedWhileStreaming);
+        /* what makes Connector/J read the export's fetch size through a server-side cursor */
+        assertEquals("true", replicas.driverProperties(0).getProperty("useCursorFetch"));
+    }
+
+    @Test
+    void customerListingsArePinnedToThePrimaryAfterAWrite() throws InterruptedException {
+        OrderRequest request = request(1, new BigDecimal("10.00"));
+        Long orderId = orderService.create(OrderMapper.mapToOrder(CUSTOMER_ID, request)).orderId();
+
+        long served = served(0);
+        assertEquals(1, orderService.getCustomerOrders(CUSTOMER_ID, null, null, null, 0, 10).size());
+        assertEquals(served, served(0));
+
+        /* max-lag plus one health check interval */
+        Thread.sleep(600);
+        assertEquals(1, orderService.getCustomerOrders(CUSTOMER_ID, null, null, null, 0, 10).size());
+        assertEquals(1, served(0) - served);
+
+        orderService.cancelOrder(orderId, CUSTOMER_ID);
+        served = served(0);
+        assertEquals("CANCELLED", orderService.getCustomerOrders(CUSTOMER_ID, null, null, null, 0, 10).get(0).status().name());
+        assertEquals(served, served(0));
+    }
+
+    @Test
+    void orderCacheIsAlwaysFilledFromThePrimary() throws InterruptedException {
+        OrderRequest request = request(1, new BigDecimal("10.00"));
+        Long orderId = orderService.create(OrderMapper.mapToOrder(CUSTOMER_ID, request)).orderId();
+        Thread.sleep(600);
+
+        long served = served(0);
+        orderCache.evict(orderId);
+        assertEquals(orderId, orderService.getOrder(orderId).orderId());
+        assertEquals(served, served(0));
+    }
+
+    private long served(int replica) {
+        return replicas.status().get(replica).connectionsServed();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.order.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlowQueryLoggingDataSourceTest {
+
+    private final DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:slow-query-log;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @Test
+    void everyStatementOverTheThresholdIsReported() {
+        List<Duration> slow = new CopyOnWriteArrayList<>();
+        JdbcTemplate jdbc = new JdbcTemplate(new SlowQueryLoggingDataSource(target, Duration.ZERO, 1.0, slow::add));
+
+        jdbc.execute("create table if not exists slow_query_log_test (id bigint)");
+        jdbc.update("insert into slow_query_log_test (id) values (?)", 1L);
+        jdbc.batchUpdate("insert into slow_query_log_test (id) values (?)", List.of(new Object[]{2L}, new Object[]{3L}));
+        assertEquals(3, jdbc.queryForObject("select count(*) from slow_query_log_test", Integer.class));
+
+        assertEquals(4, slow.size());
+    }
+
+    @Test
+    void fastStatementsAreNotReported() {
+        List<Duration> slow = new CopyOnWriteArrayList<>();
+        JdbcTemplate jdbc = new JdbcTemplate(new SlowQueryLoggingDataSource(target, Duration.ofMinutes(1), 1.0, slow::add));
+
+        assertEquals(1, jdbc.queryForObject("select 1", Integer.class));
+        assertTrue(slow.isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.order.idempotency;
+
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.exceptions.BadRequestException;
+import com.example.order.exceptions.UnprocessableEntityException;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class IdempotentOrderCreationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final OrderRequest request = request(2, new BigDecimal("12.50"));
+    private final String requestHash = IdempotencyKeyStore.requestHash(OrderMapper.mapToOrder(7L, request));
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+    }
+
+    @Test
+    void retryReturnsTheOriginalOrder() {
+        OrderResponse first = orderService.create(OrderMapper.mapToOrder(7L, request), "retry-1");
+        OrderResponse retried = orderService.create(OrderMapper.mapToOrder(7L, request), "retry-1");
+
+        assertEquals(first, retried);
+        assertEquals(1, countOrders());
+    }
+
+    @Test
+    void storedResponseServesRetriesOnOtherNodes() {
+        OrderResponse first = orderService.create(OrderMapper.mapToOrder(7L, request), "node-a");
+        /* a second store has an empty cache, as another instance would */
+        IdempotencyKeyStore otherNode = new IdempotencyKeyStore(jdbcTemplate, objectMapper, transactionManager, Duration.ofHours(1), 100, 100);
+
+        OrderResponse retried = otherNode.resolve(7L, "node-a", requestHash, () -> fail("must not create again"));
+
+        assertEquals(first.orderId(), retried.orderId());
+        assertEquals(first.items(), retried.items());
+        assertEquals(first.totalAmount(), retried.totalAmount());
+    }
+
+    @Test
+    void keysAreScopedToTheCustomer() {
+        OrderResponse a = orderService.create(OrderMapper.mapToOrder(7L, request), "shared");
+        OrderResponse b = orderService.create(OrderMapper.mapToOrder(8L, request), "shared");
+
+        assertNotEquals(a.orderId(), b.orderId());
+        assertEquals(2, countOrders());
+    }
+
+    @Test
+    void concurrentDuplicatesResolveToOneOrder() throws Exception {
+        int clients = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<OrderResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return orderService.create(OrderMapper.mapToOrder(7L, request), "concurrent");
+                }));
+            }
+            start.countDown();
+
+            Set<Long> orderIds = new HashSet<>();
+            for (Future<OrderResponse> response : responses) {
+                orderIds.add(response.get().orderId());
+            }
+            assertEquals(1, orderIds.size());
+            assertEquals(1, countOrders());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredKeysCreateAgainAndArePurged() throws Exception {
+        IdempotencyKeyStore shortLived = new IdempotencyKeyStore(jdbcTemplate, objectMapper, transactionManager, Duration.ofMillis(50), 100, 1);
+        AtomicInteger created = new AtomicInteger();
+
+        Supplier<OrderResponse> create = () -> {
+            created.incrementAndGet();
+            return orderService.create(OrderMapper.mapToOrder(7L, request));
+        };
+        shortLived.resolve(7L, "expiring", requestHash, create);
+        Thread.sleep(100);
+        shortLived.resolve(7L, "expiring", requestHash, create);
+        assertEquals(2, created.get());
+
+        shortLived.resolve(7L, "other", requestHash, () -> orderService.create(OrderMapper.mapToOrder(7L, request)));
+        Thread.sleep(100);
+        shortLived.purgeExpired();
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from idempotency_keys", Integer.class));
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() {
+        orderService.create(OrderMapper.mapToOrder(7L, request), "reused");
+        OrderRequest other = request(3, new BigDecimal("12.50"));
+
+        UnprocessableEntityException ex = assertThrows(UnprocessableEntityException.class,
+                () -> orderService.create(OrderMapper.mapToOrder(7L, other), "reused"));
+        assertEquals("IDEMPOTENCY_KEY_REUSED", ex.getErrorCode());
+        /* same answer from an instance that has to read the stored key */
+        IdempotencyKeyStore otherNode = new IdempotencyKeyStore(jdbcTemplate, objectMapper, transactionManager, Duration.ofHours(1), 100, 100);
+        assertThrows(UnprocessableEntityException.class, () -> otherNode.resolve(7L, "reused",
+                IdempotencyKeyStore.requestHash(OrderMapper.mapToOrder(7L, other)), () -> fail("must not create again")));
+        assertEquals(1, countOrders());
+    }
+
+    @Test
+    void rejectsOversizedKeys() {
+        String key = "k".repeat(IdempotencyKeyStore.MAX_KEY_LENGTH + 1);
+        assertThrows(BadRequestException.class, () -> orderService.create(OrderMapper.mapToOrder(7L, request), key));
+    }
+
+    private int countOrders() {
+        return jdbcTemplate.queryForObject("select count(*) from orders", Integer.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.order.jobs;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.exceptions.BadRequestException;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.item;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "order.jobs.archival.chunk-size=2")
+@ActiveProfiles("test")
+public class OrderArchivalJobTest {
+
+    @Autowired
+    private OrderArchivalJob archivalJob;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+    }
+
+    @Test
+    void movesOldTerminalOrdersInChunksAndKeepsTheRest() {
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        long delivered1 = createOrder(OrderStatus.DELIVERED, old);
+        long delivered2 = createOrder(OrderStatus.DELIVERED, old);
+        long cancelled = createOrder(OrderStatus.CANCELLED, old);
+        long oldShipped = createOrder(OrderStatus.SHIPPED, old);
+        long recentDelivered = createOrder(OrderStatus.DELIVERED, LocalDateTime.now());
+        /* old order, but delivered yesterday */
+        long lateDelivered = createOrder(OrderStatus.DELIVERED, old, LocalDateTime.now().minusDays(1));
+
+        assertEquals(3, archivalJob.runOnce());
+
+        assertEquals(List.of(oldShipped, recentDelivered, lateDelivered), jdbcTemplate.queryForList("select id from orders order by id", Long.class));
+        assertEquals(6, count("items"));
+        assertEquals(List.of(delivered1, delivered2, cancelled), jdbcTemplate.queryForList("select id from orders_archive order by id", Long.class));
+        assertEquals(6, count("items_archive"));
+
+        assertEquals(0, archivalJob.runOnce());
+    }
+
+    @Test
+    void archivedOrderIsStillReadableButNotCancellable() {
+        long orderId = createOrder(OrderStatus.CANCELLED, LocalDateTime.now().minusYears(1));
+        archivalJob.runOnce();
+
+        OrderResponse order = orderService.getOrder(orderId);
+
+        assertEquals(OrderStatus.CANCELLED, order.status());
+        assertEquals(2, order.items().size());
+        assertEquals(0, new BigDecimal("21.00").compareTo(order.totalAmount()));
+        assertThrows(BadRequestException.class, () -> orderService.cancelOrder(orderId, 101L));
+    }
+
+    private long createOrder(OrderStatus status, LocalDateTime createdAt) {
+        return createOrder(status, createdAt, createdAt);
+    }
+
+    private long createOrder(OrderStatus status, LocalDateTime createdAt, LocalDateTime terminalAt) {
+        OrderRequest request = request(
+                item(1L, "Product A", 2, BigDecimal.TEN),
+                item(2L, "Product B", 1, BigDecimal.ONE));
+        long id = orderService.create(OrderMapper.mapToOrder(101L, request)).orderId();
+        jdbcTemplate.update("update orders set status = ?, created_at = ?, updated_at = ?, cancelled_at = ? where id = ?",
+                status.name(), createdAt, terminalAt, status == OrderStatus.CANCELLED ? terminalAt : null, id);
+        return id;
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.order.jobs;
+
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.repository.OrderRepository;
+import com.example.order.transitions.OrderTransitions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.example.order.OrderTestData.clearTables;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs several job instances, each standing in for a node with its own worker pool, against one
+ * embedded database and checks that they split the backlog without claiming a partition twice.
+ */
+@SpringBootTest(properties = "order.jobs.status-update.partition-width=100")
+@ActiveProfiles("test")
+public class OrderStatusUpdateJobPartitioningTest {
+
+    private static final int ORDERS = 2000;
+    private static final int NODES = 3;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private StatusUpdatePartitionLeases leases;
+
+    @Autowired
+    private OrderTransitions orderTransitions;
+
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = IntStream.rangeClosed(1, ORDERS)
+                .mapToObj(id -> new Object[]{(long) id, 101L, 10, "PENDING", now})
+                .toList();
+        jdbcTemplate.batchUpdate("insert into orders (id, customer_id, total_amount, status, created_at) values (?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void nodesSplitBacklogWithoutOverlap() throws Exception {
+        List<OrderStatusUpdateJob> nodes = IntStream.range(0, NODES)
+                .mapToObj(i -> new OrderStatusUpdateJob(orderRepository, leases, orderTransitions, orderMetrics, transactionManager, new SimpleAsyncTaskExecutor(), 50, 0, 2, "node-" + i))
+                .toList();
+        ExecutorService scheduler = Executors.newFixedThreadPool(NODES);
+        try {
+            List<Future<OrderStatusUpdateJob.RunSummary>> runs = new ArrayList<>();
+            nodes.forEach(node -> runs.add(scheduler.submit(node::runOnce)));
+
+            int partitions = 0;
+            long transitioned = 0;
+            for (Future<OrderStatusUpdateJob.RunSummary> run : runs) {
+                partitions += run.get().partitions();
+                transitioned += run.get().transitioned();
+            }
+
+            assertEquals(ORDERS, transitioned);
+            assertEquals(count("select count(*) from status_update_partitions"), partitions);
+            assertEquals(ORDERS, count("select count(*) from orders where status = 'PROCESSING'"));
+            assertEquals(0, count("select count(*) from orders where status = 'PENDING'"));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.order.jobs;
+
+import com.example.order.cache.OrderCache;
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.entity.StatusUpdatePartition;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.outbox.OrderOutbox;
+import com.example.order.repository.OrderRepository;
+import com.example.order.stats.OrderStats;
+import com.example.order.transitions.OrderTransitions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OrderStatusUpdateJobTest {
+
+    private OrderRepository orderRepository;
+    private StatusUpdatePartitionLeases leases;
+    private PlatformTransactionManager transactionManager;
+    private OrderStatusUpdateJob job;
+    private StatusUpdatePartition partition;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        leases = mock(StatusUpdatePartitionLeases.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        OrderMetrics metrics = new OrderMetrics(new SimpleMeterRegistry());
+        OrderTransitions transitions = new OrderTransitions(orderRepository, mock(OrderCache.class), metrics, mock(OrderOutbox.class), mock(OrderStats.class), transactionManager, 500);
+        job = new OrderStatusUpdateJob(orderRepository, leases, transitions, metrics, transactionManager, new SimpleAsyncTaskExecutor(), 3, 0, 1, "node-a");
+
+        partition = StatusUpdatePartition.builder().rangeStart(0L).rangeEnd(100L).build();
+        when(leases.claim("node-a")).thenReturn(Optional.of(partition), Optional.empty());
+        when(leases.renew(partition, "node-a")).thenReturn(true);
+    }
+
+    @Test
+    void movesPendingOrdersInChunksUntilShortChunk() {
+        when(orderRepository.findIdsByStatusBetween(OrderStatus.PENDING, -1L, 100L, Limit.of(3))).thenReturn(List.of(1L, 2L, 4L));
+        when(orderRepository.findIdsByStatusBetween(OrderStatus.PENDING, 4L, 100L, Limit.of(3))).thenReturn(List.of(7L, 9L));
+        when(orderRepository.updateStatusInRange(any(), any(), any(), any(), any())).thenReturn(3, 2);
+
+        OrderStatusUpdateJob.RunSummary summary = job.runOnce();
+
+        verify(orderRepository).updateStatusInRange(eq(OrderStatus.PENDING), eq(OrderStatus.PROCESSING), eq(1L), eq(4L), any(LocalDateTime.class));
+        verify(orderRepository).updateStatusInRange(eq(OrderStatus.PENDING), eq(OrderStatus.PROCESSING), eq(7L), eq(9L), any(LocalDateTime.class));
+        verify(transactionManager, times(2)).commit(any());
+        verify(orderRepository, never()).findIdsByStatusBetween(OrderStatus.PENDING, 9L, 100L, Limit.of(3));
+        verify(leases).release(partition, "node-a");
+        assertEquals(new OrderStatusUpdateJob.RunSummary(1, 5), summary);
+    }
+
+    @Test
+    void stopsWhenNothingIsPending() {
+        when(orderRepository.findIdsByStatusBetween(OrderStatus.PENDING, -1L, 100L, Limit.of(3))).thenReturn(List.of());
+
+        job.runOnce();
+
+        verify(orderRepository, never()).updateStatusInRange(any(), any(), any(), any(), any());
+        verify(leases).release(partition, "node-a");
+    }
+
+    @Test
+    void stopsPartitionWhenLeaseIsLost() {
+        when(orderRepository.findIdsByStatusBetween(OrderStatus.PENDING, -1L, 100L, Limit.of(3))).thenReturn(List.of(1L, 2L, 4L));
+        when(orderRepository.updateStatusInRange(any(), any(), any(), any(), any())).thenReturn(3);
+        when(leases.renew(partition, "node-a")).thenReturn(false);
+
+        job.runOnce();
+
+        verify(orderRepository, never()).findIdsByStatusBetween(OrderStatus.PENDING, 4L, 100L, Limit.of(3));
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.order.loadtest;
+
+import com.example.order.OrderProcessingServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load-test harness for POST and GET /api/order. It boots the service once with platform threads
+ * and once with virtual threads, drives both with the same closed-loop workload and prints
+ * throughput and p50/p99 latency per endpoint. Not part of the test suite; run it with
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.order.loadtest.OrderApiLoadHarness \
+ *     -Dexec.args="30 400 --spring.profiles.active=default --order.outbox.sink=file"
+ * </pre>
+ * The first two arguments are the duration per mode in seconds and the number of concurrent
+ * clients; any {@code --key=value} arguments are passed to the application. Without a
+ * {@code --spring.profiles.active} argument it runs on the test profile and its embedded database;
+ * with one, as above, it runs on exactly the profiles given, e.g. against MySQL.
+ */
+public class OrderApiLoadHarness {
+
+    private static final Pattern ORDER_ID = Pattern.compile("\"orderId\"\\s*:\\s*(\\d+)");
+    private static final String ORDER_BODY = """
+            {"items":[{"productId":1,"productName":"Laptop","quantity":1,"price":999.99},
+                      {"productId":2,"productName":"Mouse","quantity":2,"price":19.50}]}
+            """;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<String> passThrough = Arrays.stream(args).filter(a -> a.startsWith("--")).toList();
+
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            List<String> appArgs = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN",
+                    "--spring.threads.virtual.enabled=" + virtualThreads));
+            if (passThrough.stream().noneMatch(a -> a.startsWith("--spring.profiles.active="))) {
+                appArgs.add("--spring.profiles.active=test");
+            }
+            appArgs.addAll(passThrough);
+            try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(OrderProcessingServiceApplication.class)
+                    .run(appArgs.toArray(String[]::new))) {
+                String baseUrl = "http://localhost:" + context.getWebServer().getPort() + "/api/order";
+                run(baseUrl, Duration.ofSeconds(2), clients);
+                Report report = run(baseUrl, Duration.ofSeconds(seconds), clients);
+                report.print(virtualThreads ? "virtual threads" : "platform threads", seconds);
+            }
+        }
+    }
+
+    private static Report run(String baseUrl, Duration duration, int clients) throws Exception {
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder errors = new LongAdder();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[][]>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(() -> client(http, baseUrl, deadline, errors)));
+            }
+            List<long[]> posts = new ArrayList<>();
+            List<long[]> gets = new ArrayList<>();
+            for (Future<long[][]> result : results) {
+                posts.add(result.get()[0]);
+                gets.add(result.get()[1]);
+            }
+            return new Report(merge(posts), merge(gets), errors.sum());
+        }
+    }
+
+    private static long[][] client(HttpClient http, String baseUrl, long deadline, LongAdder errors) {
+        Latencies posts = new Latencies();
+        Latencies gets = new Latencies();
+        while (System.nanoTime() < deadline) {
+            try {
+                long start = System.nanoTime();
+                HttpResponse<String> created = http.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                        .header("Content-Type", "application/json")
+                        .header("X-Customer-Id", "42")
+                        .POST(HttpRequest.BodyPublishers.ofString(ORDER_BODY))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                posts.add(System.nanoTime() - start);
+                Matcher id = ORDER_ID.matcher(created.body());
+                if (created.statusCode() != 201 || !id.find()) {
+                    errors.increment();
+                    continue;
+                }
+
+                start = System.nanoTime();
+                HttpResponse<String> read = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id.group(1))).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                gets.add(System.nanoTime() - start);
+                if (read.statusCode() != 200) {
+                    errors.increment();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception ex) {
+                errors.increment();
+            }
+        }
+        return new long[][]{posts.toArray(), gets.toArray()};
+    }
+
+    private static long[] merge(List<long[]> parts) {
+        long[] all = parts.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private record Report(long[] posts, long[] gets, long errors) {
+
+        void print(String mode, int seconds) {
+            System.out.printf("%-16s | POST %8.1f req/s p50 %7.2f ms p99 %7.2f ms | GET %8.1f req/s p50 %7.2f ms p99 %7.2f ms | errors %d%n",
+                    mode,
+                    (double) posts.length / seconds, percentile(posts, 0.50), percentile(posts, 0.99),
+                    (double) gets.length / seconds, percentile(gets, 0.50), percentile(gets, 0.99),
+                    errors);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            return sorted[(int) Math.ceil(sorted.length * p) - 1] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.order.metrics;
+
+import com.example.order.dto.request.OrderItemRequestDTO;
+import com.example.order.dto.request.OrderRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OrderMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void recordsCreatedOrdersItemsAndStatementsPerRequest() throws Exception {
+        double createdBefore = meterRegistry.get("orders.created").tag("status", "PENDING").counter().count();
+        long itemsBefore = meterRegistry.get("orders.items").summary().count();
+
+        OrderRequest request = new OrderRequest(List.of(
+                new OrderItemRequestDTO(1L, "Product A", 1, BigDecimal.TEN),
+                new OrderItemRequestDTO(2L, "Product B", 1, BigDecimal.ONE)));
+        mockMvc.perform(post("/api/order")
+                        .header("X-Customer-Id", 7L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        assertEquals(createdBefore + 1, meterRegistry.get("orders.created").tag("status", "PENDING").counter().count());
+        assertEquals(itemsBefore + 1, meterRegistry.get("orders.items").summary().count());
+
+        DistributionSummary statements = meterRegistry.get("orders.http.sql.statements")
+                .tag("method", "POST")
+                .tag("uri", "/api/order")
+                .summary();
+        assertTrue(statements.count() >= 1);
+        /* the orders insert plus one batched items insert */
+        assertTrue(statements.max() >= 2, "statements per create: " + statements.max());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.order.outbox;
+
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.exceptions.BadRequestException;
+import com.example.order.jobs.OrderStatusUpdateJob;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OutboxRelayTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusUpdateJob statusUpdateJob;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final OrderRequest request = request(1, BigDecimal.TEN);
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+        sink.clear();
+    }
+
+    @Test
+    void relaysEveryStateChangeInOrderAndEmptiesTheOutbox() throws Exception {
+        OrderResponse cancelled = orderService.create(OrderMapper.mapToOrder(7L, request));
+        OrderResponse processed = orderService.create(OrderMapper.mapToOrder(7L, request));
+        orderService.cancelOrder(cancelled.orderId(), 7L);
+        assertThrows(BadRequestException.class, () -> orderService.cancelOrder(cancelled.orderId(), 7L));
+        statusUpdateJob.runOnce();
+
+        assertEquals(4, outboxRelay.drain());
+
+        List<OutboxMessage> published = sink.published();
+        assertEquals(List.of(OrderEventType.ORDER_CREATED, OrderEventType.ORDER_CANCELLED),
+                published.stream().filter(m -> m.orderId().equals(cancelled.orderId())).map(OutboxMessage::eventType).toList());
+        assertEquals(List.of(OrderEventType.ORDER_CREATED, OrderEventType.ORDER_STATUS_CHANGED),
+                published.stream().filter(m -> m.orderId().equals(processed.orderId())).map(OutboxMessage::eventType).toList());
+        for (int i = 1; i < published.size(); i++) {
+            assertTrue(published.get(i - 1).id() < published.get(i).id());
+        }
+
+        JsonNode created = objectMapper.readTree(published.get(0).payload());
+        assertEquals("pending", created.path("status").asText());
+        assertEquals(1, created.path("order").path("items").size());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from order_outbox", Integer.class));
+    }
+
+    @Test
+    void keepsEventsWhenTheSinkFailsAndRedeliversThem() {
+        orderService.create(OrderMapper.mapToOrder(7L, request));
+        orderService.create(OrderMapper.mapToOrder(8L, request));
+
+        AtomicBoolean failing = new AtomicBoolean(true);
+        OutboxRelay flakyRelay = new OutboxRelay(jdbcTemplate, messages -> {
+            if (failing.get()) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            sink.publish(messages);
+        }, transactionManager, 1);
+
+        assertThrows(IllegalStateException.class, flakyRelay::drain);
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from order_outbox", Integer.class));
+
+        failing.set(false);
+        assertEquals(2, flakyRelay.drain());
+        assertEquals(2, sink.published().size());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from order_outbox", Integer.class));
+    }
+}
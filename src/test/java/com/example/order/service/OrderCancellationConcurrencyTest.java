@@ -0,0 +1,129 @@
+package com.example.order.service;
+
+import com.example.order.exceptions.BadRequestException;
+import com.example.order.jobs.OrderStatusUpdateJob;
+import com.example.order.jobs.StatusUpdatePartitionLeases;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.repository.OrderRepository;
+import com.example.order.transitions.OrderTransitions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.example.order.OrderTestData.clearTables;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Races customer cancellations against the status update job and checks that every order ends
+ * in exactly the state of the writer that won, with no update overwriting the other.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderCancellationConcurrencyTest {
+
+    private static final int ORDERS = 400;
+    private static final int CANCEL_THREADS = 8;
+    private static final long CUSTOMER_ID = 101L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private StatusUpdatePartitionLeases leases;
+
+    @Autowired
+    private OrderTransitions orderTransitions;
+
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = IntStream.rangeClosed(1, ORDERS)
+                .mapToObj(id -> new Object[]{(long) id, CUSTOMER_ID, 10, "PENDING", now})
+                .toList();
+        jdbcTemplate.batchUpdate("insert into orders (id, customer_id, total_amount, status, created_at) values (?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void cancelAndJobNeverOverwriteEachOther() throws Exception {
+        OrderStatusUpdateJob job = new OrderStatusUpdateJob(orderRepository, leases, orderTransitions, orderMetrics, transactionManager, new SimpleAsyncTaskExecutor(), 10, 0, 2, "stress");
+        ExecutorService executor = Executors.newFixedThreadPool(CANCEL_THREADS + 1);
+        Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+        Set<Long> rejected = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?> jobRun = executor.submit(() -> {
+                start.await();
+                return job.runOnce();
+            });
+            List<Future<Object>> cancellers = IntStream.range(0, CANCEL_THREADS)
+                    .mapToObj(t -> executor.submit(() -> {
+                        start.await();
+                        for (long id = 1 + t; id <= ORDERS; id += CANCEL_THREADS) {
+                            try {
+                                orderService.cancelOrder(id, CUSTOMER_ID);
+                                cancelled.add(id);
+                            } catch (BadRequestException ex) {
+                                assertEquals("ORDER_NOT_CANCELLABLE", ex.getErrorCode());
+                                rejected.add(id);
+                            }
+                        }
+                        return null;
+                    }))
+                    .toList();
+
+            start.countDown();
+            jobRun.get();
+            for (Future<Object> canceller : cancellers) {
+                canceller.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(ORDERS, cancelled.size() + rejected.size());
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("select id, status, cancelled_at from orders");
+        for (Map<String, Object> row : rows) {
+            Long id = ((Number) row.get("id")).longValue();
+            if (cancelled.contains(id)) {
+                assertEquals("CANCELLED", row.get("status"), "order " + id);
+                assertNotNull(row.get("cancelled_at"), "order " + id);
+            } else {
+                assertEquals("PROCESSING", row.get("status"), "order " + id);
+                assertNull(row.get("cancelled_at"), "order " + id);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.order.service;
+
+import com.example.order.dto.request.OrderItemRequestDTO;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.utils.OrderMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC statements of {@link OrderService#create} with insert batching disabled (what
+ * IDENTITY keys forced on us) and enabled, for 1-, 10- and 100-item orders. Latency is measured
+ * by OrderCreateBatchingBenchmark in the jmh profile, not here.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class OrderCreateBatchingTest {
+
+    private static final int ORDERS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void batchedInsertsUseConstantStatementsPerOrder() {
+        for (int items : new int[]{1, 10, 100}) {
+            assertEquals(1 + items, Math.round(statementsPerOrder(items, 1)));
+            assertTrue(statementsPerOrder(items, 50) <= 3, "batched create should not grow with item count");
+        }
+    }
+
+    /* averaged over several orders, so the occasional id block reservation rounds away */
+    private double statementsPerOrder(int items, int jdbcBatchSize) {
+        OrderRequest request = request(items);
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        for (int i = 0; i < ORDERS; i++) {
+            create(request, jdbcBatchSize);
+        }
+        return (double) statistics.getPrepareStatementCount() / ORDERS;
+    }
+
+    private void create(OrderRequest request, int jdbcBatchSize) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            orderService.create(OrderMapper.mapToOrder(101L, request));
+        });
+    }
+
+    private static OrderRequest request(int items) {
+        List<OrderItemRequestDTO> lines = IntStream.rangeClosed(1, items)
+                .mapToObj(i -> new OrderItemRequestDTO((long) i, "Product " + i, 1, BigDecimal.valueOf(10)))
+                .toList();
+        return new OrderRequest(lines);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.order.service;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderPageResponse;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.exceptions.BadRequestException;
+import com.example.order.utils.OrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderCursorPaginationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+
+        OrderRequest request = request(1, BigDecimal.TEN);
+        for (int i = 0; i < 25; i++) {
+            orderService.create(OrderMapper.mapToOrder(101L, request));
+        }
+        jdbcTemplate.update("update orders set status = 'CANCELLED' where mod(id, 5) = 0");
+    }
+
+    @Test
+    void walksEveryOrderExactlyOnce() {
+        List<OrderResponse> seen = collect(null, 10);
+
+        assertEquals(25, seen.size());
+        assertEquals(25, new HashSet<>(seen.stream().map(OrderResponse::orderId).toList()).size());
+    }
+
+    @Test
+    void filtersByStatus() {
+        Integer pending = jdbcTemplate.queryForObject("select count(*) from orders where status = 'PENDING'", Integer.class);
+
+        List<OrderResponse> seen = collect(OrderStatus.PENDING, 7);
+
+        assertEquals(pending, seen.size());
+        assertTrue(seen.stream().allMatch(o -> o.status() == OrderStatus.PENDING));
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        assertThrows(BadRequestException.class, () -> orderService.getOrdersAfter(null, "not-a-cursor", 10));
+    }
+
+    private List<OrderResponse> collect(OrderStatus status, int size) {
+        List<OrderResponse> seen = new ArrayList<>();
+        String after = null;
+        do {
+            OrderPageResponse page = orderService.getOrdersAfter(status, after, size);
+            assertTrue(page.orders().size() <= size);
+            seen.addAll(page.orders());
+            after = page.nextCursor();
+        } while (after != null);
+        return seen;
+    }
+}
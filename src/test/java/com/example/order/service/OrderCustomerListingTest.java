@@ -0,0 +1,91 @@
+package com.example.order.service;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderSummaryResponse;
+import com.example.order.exceptions.BadRequestException;
+import com.example.order.utils.OrderMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.item;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class OrderCustomerListingTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+
+        OrderRequest request = request(
+                item(1L, "Product A", 2, BigDecimal.valueOf(100)),
+                item(2L, "Product B", 1, BigDecimal.valueOf(50)));
+        for (int i = 0; i < 20; i++) {
+            orderService.create(OrderMapper.mapToOrder(i % 2 == 0 ? 101L : 202L, request));
+        }
+        jdbcTemplate.update("update orders set status = 'SHIPPED' where mod(id, 4) = 0");
+        jdbcTemplate.update("update orders set created_at = ? where mod(id, 3) = 0", LocalDateTime.of(2020, 1, 1, 0, 0));
+    }
+
+    @Test
+    void listsOnlyTheCustomersOrdersNewestFirstWithoutLoadingItems() {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        List<OrderSummaryResponse> orders = orderService.getCustomerOrders(101L, null, null, null, 0, 50);
+
+        assertEquals(10, orders.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(orders.stream().sorted(Comparator.comparing(OrderSummaryResponse::createdAt)
+                        .thenComparing(OrderSummaryResponse::orderId).reversed()).toList(), orders);
+        List<Long> customerIds = jdbcTemplate.queryForList("select id from orders where customer_id = 101", Long.class);
+        assertTrue(orders.stream().allMatch(o -> customerIds.contains(o.orderId())));
+        assertEquals(0, new BigDecimal("250").compareTo(orders.get(0).totalAmount()));
+    }
+
+    @Test
+    void filtersByStatusAndCreatedAtRange() {
+        Integer expected = jdbcTemplate.queryForObject(
+                "select count(*) from orders where customer_id = 101 and status = 'SHIPPED' and created_at < ?", Integer.class, LocalDateTime.of(2021, 1, 1, 0, 0));
+
+        List<OrderSummaryResponse> orders = orderService.getCustomerOrders(101L, OrderStatus.SHIPPED, null, LocalDateTime.of(2021, 1, 1, 0, 0), 0, 50);
+
+        assertEquals(expected, orders.size());
+        assertTrue(orders.stream().allMatch(o -> o.status() == OrderStatus.SHIPPED && o.createdAt().getYear() == 2020));
+    }
+
+    @Test
+    void pagesAndValidates() {
+        assertEquals(3, orderService.getCustomerOrders(202L, null, null, null, 2, 3).size());
+        assertEquals(1, orderService.getCustomerOrders(202L, null, null, null, 3, 3).size());
+        assertTrue(orderService.getCustomerOrders(202L, null, null, null, 4, 3).isEmpty());
+        assertThrows(BadRequestException.class, () -> orderService.getCustomerOrders(202L, null, null, null, 0, 0));
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(BadRequestException.class, () -> orderService.getCustomerOrders(202L, null, now, now, 0, 10));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.order.service;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.utils.OrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.item;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderExportTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+
+        OrderRequest request = request(
+                item(1L, "Product A", 2, BigDecimal.TEN),
+                item(2L, "Product B", 1, BigDecimal.ONE));
+        for (int i = 0; i < 12; i++) {
+            orderService.create(OrderMapper.mapToOrder(101L, request));
+        }
+        jdbcTemplate.update("update orders set status = 'SHIPPED' where mod(id, 3) = 0");
+        jdbcTemplate.update("update orders set created_at = ? where mod(id, 2) = 0", LocalDateTime.of(2020, 1, 1, 0, 0));
+    }
+
+    @Test
+    void exportsEveryOrderWithItsItems() {
+        List<OrderResponse> exported = export(null, null, null);
+
+        assertEquals(12, exported.size());
+        assertTrue(exported.stream().allMatch(o -> o.items().size() == 2));
+        for (OrderResponse order : exported) {
+            OrderResponse loaded = orderService.getOrder(order.orderId());
+            assertEquals(loaded.items(), order.items());
+            assertEquals(0, loaded.totalAmount().compareTo(order.totalAmount()));
+        }
+    }
+
+    @Test
+    void filtersByStatusAndCreatedAtRange() {
+        Integer expected = jdbcTemplate.queryForObject(
+                "select count(*) from orders where status = 'SHIPPED' and created_at < ?", Integer.class, LocalDateTime.of(2021, 1, 1, 0, 0));
+
+        List<OrderResponse> exported = export(OrderStatus.SHIPPED, LocalDateTime.of(2019, 1, 1, 0, 0), LocalDateTime.of(2021, 1, 1, 0, 0));
+
+        assertEquals(expected, exported.size());
+        assertTrue(exported.stream().allMatch(o -> o.status() == OrderStatus.SHIPPED));
+    }
+
+    private List<OrderResponse> export(OrderStatus status, LocalDateTime from, LocalDateTime to) {
+        List<OrderResponse> exported = new ArrayList<>();
+        long count = orderService.exportOrders(status, from, to, exported::add);
+        assertEquals(count, exported.size());
+        return exported;
+    }
+}
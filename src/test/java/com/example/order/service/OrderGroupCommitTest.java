@@ -0,0 +1,103 @@
+package com.example.order.service;
+
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.utils.OrderMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.item;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires concurrent creates with group commit enabled and checks that they share transactions
+ * while every caller still gets its own order back, and a bad order only fails its own caller.
+ */
+@SpringBootTest(properties = {
+        "order.create.group-commit.enabled=true",
+        "order.create.group-commit.max-batch-size=16",
+        "order.create.group-commit.max-wait=20ms"})
+@ActiveProfiles("test")
+public class OrderGroupCommitTest {
+
+    private static final int CALLERS = 32;
+    private static final int BAD_CALLER = 7;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+    }
+
+    @Test
+    void concurrentCreatesShareTransactionsAndKeepTheirOwnResults() throws Exception {
+        DistributionSummary groups = meterRegistry.get("orders.create.group.size").summary();
+        long groupsBefore = groups.count();
+        CyclicBarrier start = new CyclicBarrier(CALLERS);
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                long customerId = 1000L + i;
+                String productName = i == BAD_CALLER ? "x".repeat(300) : "Product " + i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return orderService.create(OrderMapper.mapToOrder(customerId, request(
+                            item(1L, productName, 1, BigDecimal.TEN))));
+                }));
+            }
+
+            Set<Long> ids = new HashSet<>();
+            for (int i = 0; i < CALLERS; i++) {
+                if (i == BAD_CALLER) {
+                    ExecutionException failure = assertThrows(ExecutionException.class, futures.get(i)::get);
+                    assertInstanceOf(DataAccessException.class, failure.getCause());
+                    continue;
+                }
+                OrderResponse response = futures.get(i).get();
+                assertEquals(1000L + i, response.customerId());
+                assertEquals("Product " + i, response.items().get(0).productName());
+                ids.add(response.orderId());
+            }
+            assertEquals(CALLERS - 1, ids.size());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(CALLERS - 1, count("orders"));
+        assertEquals(CALLERS - 1, count("items"));
+        assertEquals(CALLERS - 1, count("order_outbox"));
+        assertTrue(groups.count() - groupsBefore < CALLERS, "expected some creates to share a transaction");
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
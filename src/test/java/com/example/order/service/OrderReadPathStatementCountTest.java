@@ -0,0 +1,63 @@
+package com.example.order.service;
+
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderResponse;
+import com.example.order.utils.OrderMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.item;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class OrderReadPathStatementCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+
+        OrderRequest request = request(
+                item(1L, "Product A", 2, BigDecimal.valueOf(100)),
+                item(2L, "Product B", 1, BigDecimal.valueOf(50)),
+                item(3L, "Product C", 4, BigDecimal.valueOf(5)));
+        for (int i = 0; i < 50; i++) {
+            orderService.create(OrderMapper.mapToOrder(101L, request));
+        }
+    }
+
+    @Test
+    void pageLoadsItemsWithFixedStatementCount() {
+        for (int size : new int[]{1, 10, 50}) {
+            Statistics statistics = sessionFactory.getStatistics();
+            statistics.clear();
+
+            List<OrderResponse> page = orderService.getAllOrders(null, 0, size);
+
+            assertEquals(size, page.size());
+            assertEquals(3, page.get(size - 1).items().size());
+            assertEquals(2, statistics.getPrepareStatementCount(), "page of " + size);
+            assertEquals(0, statistics.getEntityLoadCount(), "page of " + size);
+        }
+    }
+}
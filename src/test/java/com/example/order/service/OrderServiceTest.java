@@ -1,22 +1,41 @@
 package com.example.order.service;
 
 
+import com.example.order.cache.LocalOrderInvalidationBus;
+import com.example.order.cache.NoSharedOrderCache;
+import com.example.order.cache.OrderCache;
+import com.example.order.datasource.RecentWrites;
+import com.example.order.dto.enums.BulkOrderStatus;
 import com.example.order.dto.enums.OrderStatus;
 import com.example.order.dto.request.OrderItemRequestDTO;
 import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.BulkOrderResult;
 import com.example.order.dto.response.OrderResponse;
 import com.example.order.entity.Order;
 import com.example.order.entity.OrderItem;
 import com.example.order.exceptions.BadRequestException;
 import com.example.order.exceptions.NotFoundException;
+import com.example.order.idempotency.IdempotencyKeyStore;
+import com.example.order.metrics.OrderMetrics;
+import com.example.order.outbox.OrderOutbox;
+import com.example.order.repository.ArchivedOrderRepository;
 import com.example.order.repository.OrderRepository;
+import com.example.order.repository.OrderRow;
 import com.example.order.service.serviceImpl.OrderServiceImpl;
+import com.example.order.stats.OrderStats;
+import com.example.order.transitions.NewOrderQueue;
+import com.example.order.transitions.OrderTransitions;
 import com.example.order.utils.OrderMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -32,7 +51,18 @@ public class OrderServiceTest {
     @BeforeEach
     void setUp() {
         orderRepository = mock(OrderRepository.class);
-        orderProcessingService = new OrderServiceImpl(orderRepository);
+        orderProcessingService = new OrderServiceImpl(orderRepository,
+                mock(ArchivedOrderRepository.class),
+                new OrderCache(new ConcurrentMapCacheManager(OrderCache.NAME), new NoSharedOrderCache(), new LocalOrderInvalidationBus()),
+                new OrderMetrics(new SimpleMeterRegistry()),
+                mock(OrderOutbox.class),
+                mock(IdempotencyKeyStore.class),
+                mock(OrderTransitions.class),
+                mock(NewOrderQueue.class),
+                mock(OrderStats.class),
+                new RecentWrites(Duration.ofSeconds(5), Duration.ofSeconds(5)),
+                mock(PlatformTransactionManager.class),
+                2, false, 1, Duration.ZERO);
     }
 
     @Test
@@ -72,34 +102,34 @@ public class OrderServiceTest {
     @Test
     void testGetOrderFound() {
         Long orderId = 1L;
-        Order order = Order.builder()
-                .id(orderId)
-                .customerId(101L)
-                .status(OrderStatus.PENDING)
-                .totalAmount(BigDecimal.valueOf(100))
-                .createdAt(LocalDateTime.now())
-                .items(List.of(
-                        OrderItem.builder()
-                                .productId(1L)
-                                .productName("Product A")
-                                .quantity(1)
-                                .price(BigDecimal.valueOf(100))
-                                .build()
-                ))
-                .build();
-
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        LocalDateTime createdAt = LocalDateTime.now();
+        when(orderRepository.findRowsById(orderId)).thenReturn(List.of(
+                new OrderRow(orderId, 101L, OrderStatus.PENDING, BigDecimal.valueOf(250), createdAt, 1L, "Product A", 1, BigDecimal.valueOf(100)),
+                new OrderRow(orderId, 101L, OrderStatus.PENDING, BigDecimal.valueOf(250), createdAt, 2L, "Product B", 3, BigDecimal.valueOf(50))));
 
         OrderResponse response = orderProcessingService.getOrder(orderId);
 
         assertEquals(orderId, response.orderId());
-        assertEquals(1, response.items().size());
+        assertEquals(101L, response.customerId());
+        assertEquals(BigDecimal.valueOf(250), response.totalAmount());
+        assertEquals(2, response.items().size());
+        assertEquals("Product B", response.items().get(1).productName());
+        verify(orderRepository, never()).findWithItemsById(orderId);
+    }
+
+    @Test
+    void testGetOrderWithoutItems() {
+        Long orderId = 2L;
+        when(orderRepository.findRowsById(orderId)).thenReturn(List.of(
+                new OrderRow(orderId, 101L, OrderStatus.PENDING, BigDecimal.ZERO, LocalDateTime.now(), null, null, null, null)));
+
+        assertTrue(orderProcessingService.getOrder(orderId).items().isEmpty());
     }
 
     @Test
     void testGetOrderNotFound() {
         Long orderId = 999L;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findRowsById(orderId)).thenReturn(List.of());
 
         assertThrows(NotFoundException.class, () -> orderProcessingService.getOrder(orderId));
     }
@@ -111,28 +141,31 @@ public class OrderServiceTest {
         Order order = Order.builder()
                 .id(orderId)
                 .customerId(customerId)
-                .status(OrderStatus.PENDING)
+                .status(OrderStatus.CANCELLED)
                 .totalAmount(BigDecimal.valueOf(100))
                 .createdAt(LocalDateTime.now())
+                .cancelledAt(LocalDateTime.now())
                 .items(List.of())
                 .build();
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.cancelIfPending(eq(orderId), eq(customerId), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
         OrderResponse response = orderProcessingService.cancelOrder(orderId, customerId);
-        assertEquals(OrderStatus.CANCELLED, order.getStatus());
-        assertNotNull(order.getCancelledAt());
+        assertEquals(OrderStatus.CANCELLED, response.status());
         assertEquals(orderId, response.orderId());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
     void testCancelOrder_orderNotFound_throwsNotFoundException() {
         Long orderId = 100L;
         Long customerId = 1L;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.empty());
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> orderProcessingService.cancelOrder(orderId, customerId));
         assertEquals("Order not found with ID: 100", ex.getMessage());
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).cancelIfPending(eq(orderId), eq(customerId), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED), any(LocalDateTime.class));
+        verify(orderRepository, times(1)).findWithItemsById(orderId);
         verifyNoMoreInteractions(orderRepository);
     }
 
@@ -150,7 +183,7 @@ public class OrderServiceTest {
                 .items(List.of())
                 .build();
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
 
         BadRequestException exception = assertThrows(BadRequestException.class,
                 () -> orderProcessingService.cancelOrder(orderId, customerId));
@@ -172,11 +205,51 @@ public class OrderServiceTest {
                 .items(List.of())
                 .build();
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
 
         BadRequestException exception = assertThrows(BadRequestException.class,
                 () -> orderProcessingService.cancelOrder(orderId, customerId));
 
         assertEquals("ORDER_NOT_CANCELLABLE", exception.getErrorCode());
     }
+
+    @Test
+    void testCreateAllRetriesFailedBatchOrderByOrder() {
+        List<Order> orders = List.of(
+                bulkOrder(1L), bulkOrder(2L), bulkOrder(3L));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> batch = invocation.getArgument(0);
+            if (batch.size() == 2) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            batch.forEach(order -> order.setId(100L + order.getCustomerId()));
+            return batch;
+        });
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            if (order.getCustomerId() == 2L) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            order.setId(100L + order.getCustomerId());
+            return order;
+        });
+
+        List<BulkOrderResult> results = orderProcessingService.createAll(orders);
+
+        assertEquals(3, results.size());
+        assertEquals(BulkOrderStatus.CREATED, results.get(0).status());
+        assertEquals(101L, results.get(0).order().orderId());
+        assertEquals(BulkOrderStatus.FAILED, results.get(1).status());
+        assertEquals(1, results.get(1).index());
+        assertEquals(BulkOrderResult.STORE_FAILED, results.get(1).error());
+        assertEquals(BulkOrderStatus.CREATED, results.get(2).status());
+        assertEquals(2, results.get(2).index());
+        verify(orderRepository, times(2)).saveAll(anyList());
+        verify(orderRepository, times(2)).save(any(Order.class));
+    }
+
+    private static Order bulkOrder(Long customerId) {
+        return OrderMapper.mapToOrder(customerId, new OrderRequest(List.of(
+                new OrderItemRequestDTO(1L, "Product A", 1, BigDecimal.TEN))));
+    }
 }
@@ -0,0 +1,80 @@
+package com.example.order.service.serviceImpl;
+
+import com.example.order.entity.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderCreateBatcherTest {
+
+    @Test
+    void errorInGroupWriteFailsEveryCallerOfTheGroup() throws Exception {
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        AtomicInteger writes = new AtomicInteger();
+        OrderCreateBatcher batcher = new OrderCreateBatcher(4, Duration.ofMillis(50), orders -> {
+            if (writes.getAndIncrement() == 0) {
+                firstWriteStarted.countDown();
+                try {
+                    releaseFirstWrite.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return orders;
+            }
+            throw new OutOfMemoryError("simulated");
+        }, order -> order, size -> {
+        });
+
+        Caller first = new Caller(batcher, 1L);
+        first.start();
+        firstWriteStarted.await();
+        /* both queue behind the first write and then go out together as the second group */
+        List<Caller> followers = List.of(new Caller(batcher, 2L), new Caller(batcher, 3L));
+        for (Caller follower : followers) {
+            follower.start();
+        }
+        for (Caller follower : followers) {
+            while (follower.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+        }
+        releaseFirstWrite.countDown();
+
+        first.join();
+        assertEquals(1L, first.saved.get().getCustomerId());
+        for (Caller follower : followers) {
+            follower.join();
+            assertNull(follower.saved.get());
+            assertInstanceOf(OutOfMemoryError.class, follower.failure.get());
+        }
+        assertEquals(2, writes.get());
+    }
+
+    private static final class Caller extends Thread {
+        private final OrderCreateBatcher batcher;
+        private final Long customerId;
+        private final AtomicReference<Order> saved = new AtomicReference<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Caller(OrderCreateBatcher batcher, Long customerId) {
+            this.batcher = batcher;
+            this.customerId = customerId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                saved.set(batcher.create(Order.builder().customerId(customerId).build()));
+            } catch (Throwable ex) {
+                failure.set(ex);
+            }
+        }
+    }
+}
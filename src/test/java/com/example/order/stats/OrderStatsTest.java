@@ -0,0 +1,148 @@
+package com.example.order.stats;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.CustomerStatsResponse;
+import com.example.order.dto.response.OrderStatsResponse;
+import com.example.order.jobs.OrderArchivalJob;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderStatsTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStats orderStats;
+
+    @Autowired
+    private OrderArchivalJob archivalJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+        orderStats.reconcile();
+    }
+
+    @Test
+    void countersFollowCreatesCancelsAndTransitions() {
+        long first = create(101L, "10.00");
+        long second = create(101L, "2.50");
+        create(202L, "7.25");
+
+        orderService.cancelOrder(first, 101L);
+        orderService.transitionOrders(List.of(second), OrderStatus.PROCESSING);
+
+        OrderStatsResponse stats = orderService.getStats();
+        assertStatus(stats, OrderStatus.PENDING, 1, "7.25");
+        assertStatus(stats, OrderStatus.CANCELLED, 1, "10.00");
+        assertStatus(stats, OrderStatus.PROCESSING, 1, "2.50");
+        assertStatus(stats, OrderStatus.SHIPPED, 0, "0.00");
+
+        CustomerStatsResponse customer = orderService.getCustomerStats(101L);
+        assertEquals(2, customer.orders());
+        assertEquals(0, new BigDecimal("12.50").compareTo(customer.totalAmount()));
+        assertEquals(0, orderService.getCustomerStats(999L).orders());
+
+        /* a create right at the top of the hour may land in the previous bucket */
+        assertEquals(3, stats.byHour().stream().mapToLong(OrderStatsResponse.HourTotals::orders).sum());
+        assertTrue(stats.byHour().stream().allMatch(h -> h.hour().isAfter(LocalDateTime.now().minusHours(2))));
+    }
+
+    @Test
+    void reconcilePicksUpChangesMadeBehindItsBack() {
+        long order = create(101L, "10.00");
+        jdbcTemplate.update("update orders set status = 'DELIVERED' where id = ?", order);
+        jdbcTemplate.update("update orders set created_at = ? where id = ?", LocalDateTime.now().minusDays(30), order);
+
+        assertStatus(orderService.getStats(), OrderStatus.PENDING, 1, "10.00");
+
+        orderStats.reconcile();
+
+        OrderStatsResponse stats = orderService.getStats();
+        assertStatus(stats, OrderStatus.PENDING, 0, "0.00");
+        assertStatus(stats, OrderStatus.DELIVERED, 1, "10.00");
+        assertTrue(stats.byHour().isEmpty());
+        assertEquals(1, orderService.getCustomerStats(101L).orders());
+    }
+
+    @Test
+    void customerTotalsAreLoadedOnFirstReadAndFollowedAfterwards() {
+        create(303L, "5.00");
+        orderStats.reconcile();
+
+        assertEquals(1, orderService.getCustomerStats(303L).orders());
+        create(303L, "1.00");
+
+        CustomerStatsResponse customer = orderService.getCustomerStats(303L);
+        assertEquals(2, customer.orders());
+        assertEquals(0, new BigDecimal("6.00").compareTo(customer.totalAmount()));
+    }
+
+    @Test
+    void reconcileCorrectsHeldCustomersInPlace() {
+        long order = create(404L, "5.00");
+        assertEquals(1, orderService.getCustomerStats(404L).orders());
+
+        /* a customer reloaded from the database would not show this */
+        jdbcTemplate.update("update orders set total_amount = 8.00 where id = ?", order);
+        jdbcTemplate.update("update orders set customer_id = 405 where id = ?", create(404L, "1.00"));
+        orderStats.reconcile();
+        clearTables(jdbcTemplate);
+
+        CustomerStatsResponse customer = orderService.getCustomerStats(404L);
+        assertEquals(1, customer.orders());
+        assertEquals(0, new BigDecimal("8.00").compareTo(customer.totalAmount()));
+    }
+
+    @Test
+    void archivedOrdersStayCounted() {
+        long cancelled = create(505L, "10.00");
+        orderService.cancelOrder(cancelled, 505L);
+        create(505L, "2.00");
+        assertEquals(2, orderService.getCustomerStats(505L).orders());
+        LocalDateTime old = LocalDateTime.now().minusYears(1);
+        jdbcTemplate.update("update orders set created_at = ?, updated_at = ?, cancelled_at = ? where id = ?", old, old, old, cancelled);
+
+        assertEquals(1, archivalJob.runOnce());
+        orderStats.reconcile();
+
+        OrderStatsResponse stats = orderService.getStats();
+        assertStatus(stats, OrderStatus.CANCELLED, 1, "10.00");
+        assertStatus(stats, OrderStatus.PENDING, 1, "2.00");
+        CustomerStatsResponse customer = orderService.getCustomerStats(505L);
+        assertEquals(2, customer.orders());
+        assertEquals(0, new BigDecimal("12.00").compareTo(customer.totalAmount()));
+    }
+
+    private long create(Long customerId, String price) {
+        OrderRequest request = request(1, new BigDecimal(price));
+        return orderService.create(OrderMapper.mapToOrder(customerId, request)).orderId();
+    }
+
+    private static void assertStatus(OrderStatsResponse stats, OrderStatus status, long orders, String amount) {
+        OrderStatsResponse.StatusTotals totals = stats.byStatus().stream().filter(t -> t.status() == status).findFirst().orElseThrow();
+        assertEquals(orders, totals.orders(), status.name());
+        assertEquals(0, new BigDecimal(amount).compareTo(totals.totalAmount()), status.name());
+    }
+}
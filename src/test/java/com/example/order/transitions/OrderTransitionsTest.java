@@ -0,0 +1,115 @@
+package com.example.order.transitions;
+
+import com.example.order.dto.enums.OrderStatus;
+import com.example.order.dto.request.OrderRequest;
+import com.example.order.dto.response.OrderTransitionResponse;
+import com.example.order.exceptions.BadRequestException;
+import com.example.order.service.OrderService;
+import com.example.order.utils.OrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.order.OrderTestData.clearTables;
+import static com.example.order.OrderTestData.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderTransitionsTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderTransitions orderTransitions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clearTables(jdbcTemplate);
+    }
+
+    @Test
+    void statusMachineOnlyMovesForward() {
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.PROCESSING));
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CANCELLED));
+        assertTrue(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.SHIPPED));
+        assertTrue(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED));
+        assertFalse(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.PROCESSING));
+        assertFalse(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.SHIPPED));
+        assertTrue(OrderStatus.sourcesOf(OrderStatus.PENDING).isEmpty());
+    }
+
+    @Test
+    void bulkTransitionOnlyMovesOrdersInASourceStatus() {
+        List<Long> processing = createOrders(3);
+        List<Long> pending = createOrders(2);
+        setStatus(processing, OrderStatus.PROCESSING);
+        List<Long> requested = Stream.concat(Stream.concat(processing.stream(), pending.stream()), Stream.of(-1L, -1L, processing.get(0))).toList();
+
+        OrderTransitionResponse shipped = orderService.transitionOrders(requested, OrderStatus.SHIPPED);
+
+        assertEquals(6, shipped.requested());
+        assertEquals(3, shipped.transitioned());
+        assertEquals(Stream.concat(pending.stream(), Stream.of(-1L)).toList(), shipped.rejectedIds());
+        assertEquals(OrderStatus.SHIPPED, orderService.getOrder(processing.get(0)).status());
+        assertEquals(OrderStatus.PENDING, orderService.getOrder(pending.get(0)).status());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "select count(*) from order_outbox where event_type = 'ORDER_STATUS_CHANGED'", Integer.class));
+
+        assertEquals(3, orderService.transitionOrders(processing, OrderStatus.DELIVERED).transitioned());
+        assertEquals(0, orderService.transitionOrders(processing, OrderStatus.DELIVERED).transitioned());
+        assertThrows(BadRequestException.class, () -> orderService.transitionOrders(pending, OrderStatus.PENDING));
+        assertThrows(BadRequestException.class, () -> orderService.transitionOrders(pending, OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void newOrderQueueMovesCommittedOrdersToProcessing() {
+        NewOrderQueue queue = new NewOrderQueue(orderTransitions, true, 100, 2);
+        List<Long> committed = createOrders(3);
+        List<Long> rolledBack = createOrders(1);
+        queue.submit(committed);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            queue.submit(rolledBack);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(3, queue.drain());
+
+        for (Long id : committed) {
+            assertEquals(OrderStatus.PROCESSING, orderService.getOrder(id).status());
+        }
+        assertEquals(OrderStatus.PENDING, orderService.getOrder(rolledBack.get(0)).status());
+        assertEquals(0, queue.drain());
+    }
+
+    private List<Long> createOrders(int count) {
+        OrderRequest request = request(1, BigDecimal.TEN);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(orderService.create(OrderMapper.mapToOrder(101L, request)).orderId());
+        }
+        return ids;
+    }
+
+    private void setStatus(List<Long> ids, OrderStatus status) {
+        ids.forEach(id -> jdbcTemplate.update("update orders set status = ? where id = ?", status.name(), id));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.order.utils;
+
+import com.example.order.dto.request.OrderItemRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/* the long minor-unit total must be indistinguishable from the BigDecimal chain, scale included */
+public class OrderTotalTest {
+
+    @Test
+    void matchesBigDecimalTotalsForMixedScales() {
+        assertSameTotal(items("19.99", 3, "5", 2, "0.5", 7));
+        assertSameTotal(items("100", 1, "250", 4));
+        assertSameTotal(items("0.001", 999, "12.30", 1));
+        assertSameTotal(items("1E+2", 3));
+        assertSameTotal(items("1E+2", 3, "0.25", 1));
+        assertSameTotal(items("3.140000", 2));
+    }
+
+    @Test
+    void matchesBigDecimalTotalsForLargeRandomOrders() {
+        Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            List<OrderItemRequestDTO> items = new ArrayList<>();
+            int lines = 1 + random.nextInt(400);
+            for (int i = 0; i < lines; i++) {
+                BigDecimal price = BigDecimal.valueOf(1 + random.nextInt(1_000_000), random.nextInt(4));
+                items.add(new OrderItemRequestDTO((long) i, "p" + i, 1 + random.nextInt(1000), price));
+            }
+            assertSameTotal(items);
+        }
+    }
+
+    @Test
+    void fallsBackWhenMinorUnitsOverflow() {
+        assertSameTotal(items("92233720368547758.07", 2));
+        assertSameTotal(items("9223372036854775807", Integer.MAX_VALUE, "1", 1));
+    }
+
+    @Test
+    void fallsBackForScalesBeyondTheFastPath() {
+        assertSameTotal(items("0.0000001", 3, "2.5", 2));
+    }
+
+    @Test
+    void moneyConversionsRejectWhatTheyCannotRepresent() {
+        assertEquals(1999L, Money.toMinorUnits(new BigDecimal("19.99"), 2));
+        assertEquals(1990L, Money.toMinorUnits(new BigDecimal("19.9"), 2));
+        assertEquals(1990L, Money.toMinorUnits(new BigDecimal("19.900"), 2));
+        assertEquals(100_000L, Money.toMinorUnits(new BigDecimal("1E+3"), 2));
+        assertEquals(new BigDecimal("19.99"), Money.toBigDecimal(1999L, 2));
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("0.001"), 2));
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("100000000000000000"), 2));
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE, 2));
+        assertThrows(ArithmeticException.class, () -> Money.plus(Long.MAX_VALUE, 1));
+    }
+
+    private static void assertSameTotal(List<OrderItemRequestDTO> items) {
+        BigDecimal expected = OrderMapper.calculateTotalAmountExact(items);
+        BigDecimal actual = OrderMapper.calculateTotalAmount(items);
+        /* equals, not compareTo: the scale has to match too */
+        assertEquals(expected, actual);
+    }
+
+    private static List<OrderItemRequestDTO> items(Object... priceQuantityPairs) {
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < priceQuantityPairs.length; i += 2) {
+            items.add(new OrderItemRequestDTO((long) i, "p" + i, (Integer) priceQuantityPairs[i + 1], new BigDecimal((String) priceQuantityPairs[i])));
+        }
+        return items;
+    }
+}